@@ -0,0 +1,71 @@
+package org.seleniumsamples.benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.seleniumsamples.element.ElementSnapshot;
+import org.seleniumsamples.element.ElementSnapshots;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element Access Benchmark
+ * Per-element WebDriver reads against batched snapshots, and re-querying
+ * Select options against reusing them
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElementAccessBenchmark {
+
+    private static final By CHECKBOXES = By.cssSelector("input[type='checkbox']");
+
+    @Benchmark
+    public void checkboxStatePerElement(PracticePageState state, Blackhole blackhole) {
+        for (WebElement checkbox : state.driver.findElements(CHECKBOXES)) {
+            blackhole.consume(checkbox.getAttribute("name"));
+            blackhole.consume(checkbox.getAttribute("value"));
+            blackhole.consume(checkbox.isSelected());
+            blackhole.consume(checkbox.isDisplayed());
+            blackhole.consume(checkbox.isEnabled());
+        }
+    }
+
+    @Benchmark
+    public List<ElementSnapshot> checkboxStateBatched(PracticePageState state) {
+        return ElementSnapshots.capture(state.driver, state.driver.findElements(CHECKBOXES), "name", "value");
+    }
+
+    @Benchmark
+    public List<ElementSnapshot> checkboxStateBatchedBySelector(PracticePageState state) {
+        return ElementSnapshots.capture(state.driver, "input[type='checkbox']", "name", "value");
+    }
+
+    @Benchmark
+    public void selectOptionsRequery(PracticePageState state, Blackhole blackhole) {
+        Select dropdown = new Select(state.driver.findElement(By.id("dropdown-class-example")));
+        for (int i = 0; i < dropdown.getOptions().size(); i++) {
+            blackhole.consume(dropdown.getOptions().get(i).getText());
+        }
+    }
+
+    @Benchmark
+    public void selectOptionsReuse(PracticePageState state, Blackhole blackhole) {
+        Select dropdown = new Select(state.driver.findElement(By.id("dropdown-class-example")));
+        List<WebElement> options = dropdown.getOptions();
+        for (WebElement option : options) {
+            blackhole.consume(option.getText());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.seleniumsamples.benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locator Benchmark
+ * Cost of the locator strategies used by the tests for the same elements
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    @Benchmark
+    public List<WebElement> checkboxesByXpath(PracticePageState state) {
+        return state.driver.findElements(By.xpath("//input[@type='checkbox']"));
+    }
+
+    @Benchmark
+    public List<WebElement> checkboxesByCss(PracticePageState state) {
+        return state.driver.findElements(By.cssSelector("input[type='checkbox']"));
+    }
+
+    @Benchmark
+    public WebElement checkboxById(PracticePageState state) {
+        return state.driver.findElement(By.id("checkBoxOption1"));
+    }
+
+    @Benchmark
+    public WebElement checkboxByXpathId(PracticePageState state) {
+        return state.driver.findElement(By.xpath("//input[@id='checkBoxOption1']"));
+    }
+
+    @Benchmark
+    public List<WebElement> radioButtonsByName(PracticePageState state) {
+        return state.driver.findElements(By.name("radioButton"));
+    }
+
+    @Benchmark
+    public List<WebElement> radioButtonsByCss(PracticePageState state) {
+        return state.driver.findElements(By.cssSelector("input.radioButton"));
+    }
+}
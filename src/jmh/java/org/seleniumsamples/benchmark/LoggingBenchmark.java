@@ -0,0 +1,87 @@
+package org.seleniumsamples.benchmark;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.seleniumsamples.listeners.TestLogContextListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging Benchmark
+ * Time a worker thread spends logging one test method's worth of lines, with the
+ * synchronous console configuration against the async, per-test routed one.
+ * Console output goes to a discarding stream so the benchmark output stays readable;
+ * the stream is still a synchronized PrintStream, as System.out is.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.console.follow=true", "-Dlog.dir=target/benchmark-logs",
+        "-Dlog4j2.garbagefreeThreadContextMap=true"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingBenchmark.class);
+    // Roughly what one AutomationPracticeTest method logs
+    private static final int LINES_PER_TEST = 25;
+
+    @Param({"log4j2.xml", "log4j2-async.xml"})
+    public String configuration;
+
+    private PrintStream originalOut;
+
+    @Setup
+    public void configure() throws URISyntaxException {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        context.setConfigLocation(LoggingBenchmark.class.getClassLoader().getResource(configuration).toURI());
+    }
+
+    @TearDown
+    public void restore() {
+        LogManager.shutdown();
+        System.setOut(originalOut);
+    }
+
+    @State(Scope.Thread)
+    public static class TestThread {
+        String testName;
+
+        @Setup
+        public void enterTest() {
+            testName = "LoggingBenchmark." + Thread.currentThread().getName();
+            MDC.put(TestLogContextListener.TEST_NAME_KEY, testName);
+        }
+    }
+
+    @Benchmark
+    public void logOneTest(TestThread thread) {
+        logger.info("=== TEST: {} ===", thread.testName);
+        for (int i = 0; i < LINES_PER_TEST - 2; i++) {
+            logger.info("Before: Checkbox {}: name = '{}', value = '{}', selected = {}", i, "checkBoxOption1", "option1", false);
+        }
+        logger.info("=== COMPLETED: {} ===", thread.testName);
+    }
+}
@@ -0,0 +1,47 @@
+package org.seleniumsamples.benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Select;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.seleniumsamples.driver.BrowserProfile;
+import org.seleniumsamples.driver.DriverFactory;
+import org.seleniumsamples.server.PracticePageServer;
+
+import java.io.IOException;
+
+/**
+ * Practice Page State
+ * One headless browser on the locally served practice page per benchmark fork,
+ * without command instrumentation so only WebDriver itself is measured
+ */
+@State(Scope.Benchmark)
+public class PracticePageState {
+
+    WebDriver driver;
+    private PracticePageServer server;
+
+    @Setup(Level.Trial)
+    public void startBrowser() throws IOException {
+        System.setProperty("driver.instrumentation", "false");
+        server = new PracticePageServer(0, 0, 0).start();
+        driver = DriverFactory.createDriver(BrowserProfile.HEADLESS);
+        driver.get(server.getBaseUrl());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetDropdown() {
+        // Keep every iteration on the same page state
+        new Select(driver.findElement(By.id("dropdown-class-example"))).selectByIndex(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBrowser() {
+        DriverFactory.quit(driver);
+        server.close();
+    }
+}
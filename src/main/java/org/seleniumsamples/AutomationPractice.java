@@ -1,35 +1,110 @@
 package org.seleniumsamples;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.driver.BrowserProfile;
+import org.seleniumsamples.driver.DriverFactory;
+import org.seleniumsamples.driver.WindowManager;
+import org.seleniumsamples.element.ElementSnapshot;
+import org.seleniumsamples.element.ElementSnapshots;
+import org.seleniumsamples.load.LoadProfile;
+import org.seleniumsamples.load.LoadReport;
+import org.seleniumsamples.load.LoadRunner;
+import org.seleniumsamples.page.PracticePage;
+import org.seleniumsamples.triage.FailureClassifier;
+import org.seleniumsamples.wait.AdaptiveWait;
+import org.seleniumsamples.wait.WaitConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Automation Practice Test Class
  * This class demonstrates accessing first 5-6 elements from Rahul Shetty Academy Practice Page
+ *
+ * Usage: java ... org.seleniumsamples.AutomationPractice [load]
+ * Without arguments the walkthrough runs once; with "load" it is repeated by
+ * concurrent virtual users as configured by the load.* properties.
  */
 public class AutomationPractice{
     
     private static final Logger logger = LoggerFactory.getLogger(AutomationPractice.class);
-    private static final String BASE_URL = "https://rahulshettyacademy.com/AutomationPractice/";
+    private static final String BASE_URL = SuiteConfig.baseUrl();
     private WebDriver driver;
-    private WebDriverWait wait;
+    private PracticePage page;
+    private final LoadReport report;
+    private final Duration thinkTime;
 
-    public static void main(String[] args) {
+    /**
+     * Walkthrough steps, named as they appear in load reports
+     */
+    enum Step {
+        NAVIGATE("practice page"),
+        RADIO("radio buttons"),
+        AUTOCOMPLETE("autocomplete field"),
+        DROPDOWN("dropdown"),
+        CHECKBOX("checkboxes"),
+        WINDOW("switch window button"),
+        TAB("switch tab button");
+
+        private final String description;
+
+        Step(String description) {
+            this.description = description;
+        }
+
+        String reportName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public AutomationPractice() {
+        this(null, null, Duration.ZERO);
+    }
+
+    /**
+     * Walkthrough on an existing session that records each step into the report
+     */
+    AutomationPractice(WebDriver driver, LoadReport report, Duration thinkTime) {
+        this.driver = driver;
+        this.page = driver == null ? null : PracticePage.of(driver);
+        this.report = report;
+        this.thinkTime = thinkTime;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && "load".equalsIgnoreCase(args[0])) {
+            runLoad(LoadProfile.fromConfig());
+            return;
+        }
         AutomationPractice test = new AutomationPractice();
         test.runTest();
     }
 
+    /**
+     * Repeats the walkthrough with concurrent virtual users, each on its own headless
+     * browser (or Grid session with driver.mode=grid), and reports per-step latency
+     * percentiles, error rates and throughput
+     */
+    static LoadReport runLoad(LoadProfile profile) throws IOException, InterruptedException {
+        BrowserProfile browserProfile = SuiteConfig.browserProfile().isHeadless()
+                ? SuiteConfig.browserProfile() : BrowserProfile.HEADLESS;
+        LoadReport report = new LoadRunner(profile,
+                () -> DriverFactory.createDriver(browserProfile),
+                DriverFactory::quit,
+                (driver, steps) -> new AutomationPractice(driver, steps, profile.getThinkTime()).runIteration())
+                .run();
+        report.log();
+        report.writeTo(SuiteConfig.reportDir());
+        return report;
+    }
+
     public void runTest() {
         try {
             setupDriver();
@@ -43,192 +118,196 @@ public class AutomationPractice{
     }
 
     private void setupDriver() {
-        logger.info("Setting up WebDriver...");
-        
-        // Setup ChromeDriver using WebDriverManager
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--start-maximized");
-        
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        
-        logger.info("WebDriver setup completed successfully");
+        driver = DriverFactory.createDriver();
+        page = PracticePage.of(driver);
+    }
+
+    /**
+     * One load iteration: loads the page and walks through all elements
+     *
+     * @return true if every step passed
+     * @throws IllegalStateException if the page could not be loaded, so the session is replaced
+     */
+    boolean runIteration() {
+        if (!runStep(Step.NAVIGATE, this::navigateToPage)) {
+            throw new IllegalStateException("Practice page did not load");
+        }
+        return accessPageElements();
     }
 
     private void navigateToPage() {
         logger.info("Navigating to practice page: {}", BASE_URL);
-        driver.get(BASE_URL);
+        page.open(BASE_URL);
         logger.info("Successfully navigated to practice page");
-        logger.info("Page title: {}", driver.getTitle());
+        logger.info("Page title: {}", page.getTitle());
     }
 
-    private void accessPageElements() {
+    private boolean accessPageElements() {
         logger.info("Starting to access page elements...");
+        boolean passed = true;
         
         // Element 1: Radio Button Example
-        accessRadioButtons();
+        passed &= runStep(Step.RADIO, this::accessRadioButtons);
         
         // Element 2: Suggestion Class Example (Autocomplete)
-        accessAutocompleteField();
+        passed &= runStep(Step.AUTOCOMPLETE, this::accessAutocompleteField);
         
         // Element 3: Dropdown Example
-        accessDropdownExample();
+        passed &= runStep(Step.DROPDOWN, this::accessDropdownExample);
         
         // Element 4: Checkbox Example
-        accessCheckboxExample();
+        passed &= runStep(Step.CHECKBOX, this::accessCheckboxExample);
         
         // Element 5: Switch Window Example
-        accessSwitchWindowExample();
+        passed &= runStep(Step.WINDOW, this::accessSwitchWindowExample);
         
         // Element 6: Switch Tab Example
-        accessSwitchTabExample();
+        passed &= runStep(Step.TAB, this::accessSwitchTabExample);
         
         logger.info("Completed accessing all page elements");
+        return passed;
     }
 
-    private void accessRadioButtons() {
+    /**
+     * Runs one step, logging instead of propagating its failure, records its latency
+     * and outcome when a load report is attached, then pauses for the think time
+     *
+     * @return true if the step passed
+     */
+    private boolean runStep(Step step, Runnable action) {
+        long start = System.nanoTime();
+        boolean passed = false;
         try {
-            logger.info("Accessing Radio Button elements...");
-            
-            List<WebElement> radioButtons = driver.findElements(By.name("radioButton"));
-            logger.info("Found {} radio buttons", radioButtons.size());
-            
-            for (int i = 0; i < radioButtons.size(); i++) {
-                WebElement radioButton = radioButtons.get(i);
-                String value = radioButton.getAttribute("value");
-                logger.info("Radio button {}: value = {}, selected = {}", 
-                           i + 1, value, radioButton.isSelected());
-            }
-            
-            // Click on the first radio button
-            if (!radioButtons.isEmpty()) {
-                radioButtons.get(0).click();
-                logger.info("Clicked on first radio button");
-            }
-            
+            action.run();
+            passed = true;
         } catch (Exception e) {
-            logger.error("Error accessing radio buttons: {}", e.getMessage());
+            logger.error("Error accessing {} ({}): {}", step.description, FailureClassifier.classify(e).label(),
+                    e.getMessage());
+        } finally {
+            if (report != null) {
+                report.recordStep(step.reportName(), System.nanoTime() - start, passed);
+            }
         }
+        LoadRunner.think(thinkTime);
+        return passed;
     }
 
-    private void accessAutocompleteField() {
-        try {
-            logger.info("Accessing Autocomplete field...");
-            
-            WebElement autocompleteField = driver.findElement(By.id("autocomplete"));
-            logger.info("Autocomplete field found - placeholder: {}", 
-                       autocompleteField.getAttribute("placeholder"));
-            
-            // Type some text
-            autocompleteField.sendKeys("India");
-            logger.info("Typed 'India' in autocomplete field");
-            
-            Thread.sleep(2000); // Wait for suggestions
-            
-            // Clear the field
-            autocompleteField.clear();
-            logger.info("Cleared autocomplete field");
-            
-        } catch (Exception e) {
-            logger.error("Error accessing autocomplete field: {}", e.getMessage());
+    private void accessRadioButtons() {
+        logger.info("Accessing Radio Button elements...");
+        
+        List<WebElement> radioButtons = page.radioButtons();
+        logger.info("Found {} radio buttons", radioButtons.size());
+        
+        for (ElementSnapshot radioButton : ElementSnapshots.capture(driver, radioButtons, "value")) {
+            logger.info("Radio button {}: value = {}, selected = {}", 
+                       radioButton.getIndex() + 1, radioButton.getAttribute("value"), radioButton.isSelected());
         }
+        
+        // Click on the first radio button
+        if (!radioButtons.isEmpty()) {
+            radioButtons.get(0).click();
+            logger.info("Clicked on first radio button");
+        }
+    }
+
+    private void accessAutocompleteField() {
+        logger.info("Accessing Autocomplete field...");
+        
+        WebElement autocompleteField = page.autocomplete();
+        logger.info("Autocomplete field found - placeholder: {}", 
+                   autocompleteField.getAttribute("placeholder"));
+        
+        // Type some text; returns as soon as the suggestions are rendered
+        List<ElementSnapshot> suggestions = page.typeForSuggestions("India");
+        logger.info("Typed 'India' in autocomplete field");
+        logger.info("Autocomplete suggestions displayed: {}", suggestions.size());
+        
+        // Clear the field
+        autocompleteField.clear();
+        logger.info("Cleared autocomplete field");
     }
 
     private void accessDropdownExample() {
-        try {
-            logger.info("Accessing Dropdown element...");
-            
-            WebElement dropdownElement = driver.findElement(By.id("dropdown-class-example"));
-            Select dropdown = new Select(dropdownElement);
-            
-            logger.info("Dropdown found with {} options", dropdown.getOptions().size());
-            
-            // Log all options
-            for (WebElement option : dropdown.getOptions()) {
-                logger.info("Dropdown option: {}", option.getText());
-            }
-            
-            // Select by visible text
-            dropdown.selectByVisibleText("Option2");
-            logger.info("Selected 'Option2' from dropdown");
-            
-            // Get currently selected option
-            WebElement selectedOption = dropdown.getFirstSelectedOption();
-            logger.info("Currently selected option: {}", selectedOption.getText());
-            
-        } catch (Exception e) {
-            logger.error("Error accessing dropdown: {}", e.getMessage());
+        logger.info("Accessing Dropdown element...");
+        
+        Select dropdown = page.dropdown();
+        
+        List<ElementSnapshot> options = ElementSnapshots.capture(driver, page.dropdownOptions());
+        logger.info("Dropdown found with {} options", options.size());
+        
+        // Log all options
+        for (ElementSnapshot option : options) {
+            logger.info("Dropdown option: {}", option.getText());
         }
+        
+        // Select by visible text
+        dropdown.selectByVisibleText("Option2");
+        logger.info("Selected 'Option2' from dropdown");
+        
+        // Get currently selected option
+        WebElement selectedOption = dropdown.getFirstSelectedOption();
+        logger.info("Currently selected option: {}", selectedOption.getText());
     }
 
     private void accessCheckboxExample() {
-        try {
-            logger.info("Accessing Checkbox elements...");
-            
-            List<WebElement> checkboxes = driver.findElements(By.xpath("//input[@type='checkbox']"));
-            logger.info("Found {} checkboxes", checkboxes.size());
-            
-            for (int i = 0; i < Math.min(3, checkboxes.size()); i++) {
-                WebElement checkbox = checkboxes.get(i);
-                String name = checkbox.getAttribute("name");
-                String value = checkbox.getAttribute("value");
-                boolean isSelected = checkbox.isSelected();
-                
-                logger.info("Checkbox {}: name = {}, value = {}, selected = {}", 
-                           i + 1, name, value, isSelected);
-                
-                // Toggle checkbox state
-                checkbox.click();
-                logger.info("Toggled checkbox {} - now selected: {}", i + 1, checkbox.isSelected());
-            }
-            
-        } catch (Exception e) {
-            logger.error("Error accessing checkboxes: {}", e.getMessage());
+        logger.info("Accessing Checkbox elements...");
+        
+        List<WebElement> checkboxes = page.checkboxes();
+        logger.info("Found {} checkboxes", checkboxes.size());
+        
+        List<WebElement> tested = checkboxes.subList(0, Math.min(3, checkboxes.size()));
+        List<ElementSnapshot> before = ElementSnapshots.capture(driver, tested, "name", "value");
+        for (ElementSnapshot checkbox : before) {
+            logger.info("Checkbox {}: name = {}, value = {}, selected = {}", 
+                       checkbox.getIndex() + 1, checkbox.getAttribute("name"),
+                       checkbox.getAttribute("value"), checkbox.isSelected());
+        }
+        
+        // Toggle checkbox states
+        for (WebElement checkbox : tested) {
+            checkbox.click();
+        }
+        List<ElementSnapshot> after = AdaptiveWait.on(driver)
+                .withMessage("Checkbox states should have changed after click")
+                .until(WaitConditions.elementStateToggled(tested, before));
+        for (ElementSnapshot checkbox : after) {
+            logger.info("Toggled checkbox {} - now selected: {}", checkbox.getIndex() + 1, checkbox.isSelected());
         }
     }
 
     private void accessSwitchWindowExample() {
-        try {
-            logger.info("Accessing Switch Window button...");
-            
-            WebElement openWindowButton = driver.findElement(By.id("openwindow"));
-            logger.info("Switch Window button found - text: {}", openWindowButton.getText());
-            logger.info("Button is enabled: {}", openWindowButton.isEnabled());
-            logger.info("Button is displayed: {}", openWindowButton.isDisplayed());
-            
-            // Note: Not clicking to avoid opening new window in this demo
-            logger.info("Switch Window button accessed successfully (not clicked to avoid new window)");
-            
-        } catch (Exception e) {
-            logger.error("Error accessing switch window button: {}", e.getMessage());
+        logger.info("Accessing Switch Window button...");
+        
+        ElementSnapshot button = ElementSnapshots.capture(driver, List.of(page.openWindowButton())).get(0);
+        logger.info("Switch Window button found - text: {}", button.getText());
+        logger.info("Button is enabled: {}", button.isEnabled());
+        logger.info("Button is displayed: {}", button.isDisplayed());
+        
+        // The window is closed again and the driver returned to the practice page, even on failure
+        try (WindowManager.ChildWindow window = WindowManager.open(driver, page.openWindowButton())) {
+            logger.info("New window opened in {} ms - title: {}", window.getOpenMillis(), window.waitUntilLoaded());
         }
+        logger.info("Switch Window button accessed successfully, new window closed");
     }
 
     private void accessSwitchTabExample() {
-        try {
-            logger.info("Accessing Switch Tab button...");
-            
-            WebElement openTabButton = driver.findElement(By.id("opentab"));
-            logger.info("Switch Tab button found - text: {}", openTabButton.getText());
-            logger.info("Button is enabled: {}", openTabButton.isEnabled());
-            logger.info("Button is displayed: {}", openTabButton.isDisplayed());
-            
-            // Note: Not clicking to avoid opening new tab in this demo
-            logger.info("Switch Tab button accessed successfully (not clicked to avoid new tab)");
-            
-        } catch (Exception e) {
-            logger.error("Error accessing switch tab button: {}", e.getMessage());
+        logger.info("Accessing Switch Tab button...");
+        
+        ElementSnapshot button = ElementSnapshots.capture(driver, List.of(page.openTabButton())).get(0);
+        logger.info("Switch Tab button found - text: {}", button.getText());
+        logger.info("Button is enabled: {}", button.isEnabled());
+        logger.info("Button is displayed: {}", button.isDisplayed());
+        
+        try (WindowManager.ChildWindow tab = WindowManager.open(driver, page.openTabButton())) {
+            logger.info("New tab opened in {} ms - title: {}", tab.getOpenMillis(), tab.waitUntilLoaded());
         }
+        logger.info("Switch Tab button accessed successfully, new tab closed");
     }
 
     private void tearDown() {
         if (driver != null) {
             logger.info("Closing browser and cleaning up...");
-            driver.quit();
+            DriverFactory.quit(driver);
             logger.info("Browser closed successfully");
         }
     }
@@ -0,0 +1,460 @@
+package org.seleniumsamples.config;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.seleniumsamples.driver.BrowserProfile;
+import org.seleniumsamples.server.PracticePageServer;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Suite Configuration
+ * Central place for all tunables that can be overridden per suite run through
+ * system properties (e.g. mvn test -Ddriver.pool.size=4)
+ */
+public final class SuiteConfig {
+
+    public static final String LIVE_PRACTICE_PAGE = "https://rahulshettyacademy.com/AutomationPractice/";
+    private static final String LOCAL = "local";
+    private static final String DEFAULT_BLOCKED_URLS = "*googletagmanager.com/*,*google-analytics.com/*,"
+            + "*doubleclick.net/*,*googlesyndication.com/*,*googleadservices.com/*,*facebook.net/*";
+
+    private SuiteConfig() {
+    }
+
+    /**
+     * Maximum number of browser sessions the shared driver pool keeps alive
+     * (leased + idle), so every concurrent worker of the suite gets its own browser by default.
+     * Property: driver.pool.size, default the number of concurrent workers, at least 2
+     */
+    public static int driverPoolSize(int workers) {
+        return Math.max(1, Integer.getInteger("driver.pool.size", Math.max(2, workers)));
+    }
+
+    /**
+     * How long a test class waits for a free pooled browser before failing.
+     * Property: driver.pool.leaseTimeoutSeconds, default 120
+     */
+    public static Duration driverPoolLeaseTimeout() {
+        return Duration.ofSeconds(Long.getLong("driver.pool.leaseTimeoutSeconds", 120L));
+    }
+
+    /**
+     * TestNG parallel mode applied to the suite ("methods", "classes", "tests" or "none").
+     * Property: testng.parallel, default unset which keeps testng.xml as written
+     */
+    public static String parallelMode() {
+        return System.getProperty("testng.parallel");
+    }
+
+    /**
+     * Worker threads used when a parallel mode is set.
+     * Property: testng.threadCount, default number of available processors
+     */
+    public static int threadCount() {
+        return Math.max(1, Integer.getInteger("testng.threadCount", Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Upper bound for explicit waits.
+     * Property: wait.timeoutSeconds, default 10
+     */
+    public static Duration waitTimeout() {
+        return Duration.ofSeconds(Long.getLong("wait.timeoutSeconds", 10L));
+    }
+
+    /**
+     * Chrome launch preset.
+     * Property: browser.profile (desktop, headless, lean), default desktop
+     */
+    public static BrowserProfile browserProfile() {
+        return BrowserProfile.fromName(System.getProperty("browser.profile", "desktop"));
+    }
+
+    /**
+     * Window size for headless profiles.
+     * Property: browser.windowSize as WIDTHxHEIGHT, default 1920x1080
+     */
+    public static Dimension browserWindowSize() {
+        String value = System.getProperty("browser.windowSize", "1920x1080");
+        String[] parts = value.toLowerCase(Locale.ROOT).split("x");
+        try {
+            if (parts.length == 2) {
+                int width = Integer.parseInt(parts[0].trim());
+                int height = Integer.parseInt(parts[1].trim());
+                if (width > 0 && height > 0) {
+                    return new Dimension(width, height);
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid browser.windowSize '" + value
+                + "', expected WIDTHxHEIGHT with positive numbers, e.g. 1920x1080");
+    }
+
+    /**
+     * When WebDriver considers navigation finished.
+     * Property: browser.pageLoadStrategy (normal, eager, none), default depends on the profile
+     */
+    public static PageLoadStrategy pageLoadStrategy(BrowserProfile profile) {
+        String value = System.getProperty("browser.pageLoadStrategy");
+        if (value == null) {
+            return profile.getDefaultPageLoadStrategy();
+        }
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value.trim().toLowerCase(Locale.ROOT));
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown browser.pageLoadStrategy '" + value
+                    + "', expected one of normal, eager, none");
+        }
+        return strategy;
+    }
+
+    /**
+     * Property: browser.blockImages, default false
+     */
+    public static boolean blockImages() {
+        return Boolean.getBoolean("browser.blockImages");
+    }
+
+    /**
+     * Property: browser.blockFonts, default false
+     */
+    public static boolean blockFonts() {
+        return Boolean.getBoolean("browser.blockFonts");
+    }
+
+    /**
+     * Explicit chromedriver binary, skipping all resolution.
+     * Property: driver.binary.path (or the standard webdriver.chrome.driver), default unset
+     */
+    public static Path driverBinaryPath() {
+        String value = System.getProperty("driver.binary.path", System.getProperty("webdriver.chrome.driver"));
+        return value == null || value.isEmpty() ? null : Paths.get(value);
+    }
+
+    /**
+     * Directory holding the resolved driver cache, shared by all JVMs of a user.
+     * Property: driver.cache.dir, default ~/.cache/selenium-testng-samples
+     */
+    public static Path driverCacheDir() {
+        return Paths.get(System.getProperty("driver.cache.dir",
+                Paths.get(System.getProperty("user.home"), ".cache", "selenium-testng-samples").toString()));
+    }
+
+    /**
+     * Cache entry name; include the Chrome major version when agents run several.
+     * Property: driver.browser.version, default unset
+     */
+    public static String driverCacheKey() {
+        String key = "chromedriver." + System.getProperty("os.name").toLowerCase(Locale.ROOT).replace(' ', '_')
+                + "." + System.getProperty("os.arch");
+        String browserVersion = System.getProperty("driver.browser.version");
+        return browserVersion == null ? key : key + "." + browserVersion;
+    }
+
+    /**
+     * Never fall back to WebDriverManager; fail if no driver is cached or pinned.
+     * Property: driver.offline, default false
+     */
+    public static boolean driverOffline() {
+        return Boolean.getBoolean("driver.offline");
+    }
+
+    /**
+     * Run sessions on a Selenium Grid through RemoteWebDriver instead of a local ChromeDriver.
+     * Property: driver.mode (local, grid), default local
+     */
+    public static boolean gridMode() {
+        String mode = System.getProperty("driver.mode", "local");
+        if (!mode.equalsIgnoreCase("local") && !mode.equalsIgnoreCase("grid")) {
+            throw new IllegalArgumentException("Unknown driver.mode '" + mode + "', expected local or grid");
+        }
+        return mode.equalsIgnoreCase("grid");
+    }
+
+    /**
+     * Running Grid endpoints (hubs or standalone servers) to schedule sessions on.
+     * Property: grid.urls as a comma separated list, default unset which starts an in-process Grid
+     */
+    public static List<URL> gridUrls() {
+        List<URL> urls = new ArrayList<>();
+        for (String value : System.getProperty("grid.urls", "").split(",")) {
+            if (!value.trim().isEmpty()) {
+                try {
+                    urls.add(new URL(value.trim().endsWith("/") ? value.trim() : value.trim() + "/"));
+                } catch (MalformedURLException e) {
+                    throw new IllegalArgumentException("Invalid grid.urls entry '" + value + "'", e);
+                }
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Standalone servers started for an in-process Grid.
+     * Property: grid.nodes, default 2
+     */
+    public static int gridNodes() {
+        return Math.max(1, Integer.getInteger("grid.nodes", 2));
+    }
+
+    /**
+     * Concurrent sessions each in-process Grid node accepts.
+     * Property: grid.maxSessions, default 2
+     */
+    public static int gridMaxSessions() {
+        return Math.max(1, Integer.getInteger("grid.maxSessions", 2));
+    }
+
+    /**
+     * How long a session request waits for a free Grid slot before failing.
+     * Property: grid.queueTimeoutSeconds, default 300
+     */
+    public static Duration gridQueueTimeout() {
+        return Duration.ofSeconds(Long.getLong("grid.queueTimeoutSeconds", 300L));
+    }
+
+    /**
+     * Intercept browser traffic through DevTools to block, cache and time requests.
+     * Property: network.control, default false
+     */
+    public static boolean networkControl() {
+        return Boolean.getBoolean("network.control");
+    }
+
+    /**
+     * URL patterns answered with an empty response when network control is on, * matches anything.
+     * Property: network.block as a comma separated list, default common ad and analytics hosts
+     */
+    public static List<String> networkBlockPatterns() {
+        List<String> patterns = new ArrayList<>();
+        for (String value : System.getProperty("network.block", DEFAULT_BLOCKED_URLS).split(",")) {
+            if (!value.trim().isEmpty()) {
+                patterns.add(value.trim());
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * On-disk response cache used by network control, shared between runs.
+     * Properties: network.cache (default true) and network.cache.dir (default http-cache in driver.cache.dir)
+     */
+    public static Path networkCacheDir() {
+        if (!Boolean.parseBoolean(System.getProperty("network.cache", "true"))) {
+            return null;
+        }
+        String dir = System.getProperty("network.cache.dir");
+        return dir == null ? driverCacheDir().resolve("http-cache") : Paths.get(dir);
+    }
+
+    /**
+     * Practice page under test. "local" serves the bundled snapshot from an embedded
+     * server started once per JVM; the snapshot is a test resource, so "local" needs
+     * the test classpath.
+     * Property: base.url, default the live page
+     */
+    public static String baseUrl() {
+        String value = System.getProperty("base.url", LIVE_PRACTICE_PAGE);
+        if (!LOCAL.equalsIgnoreCase(value)) {
+            return value;
+        }
+        if (!PracticePageServer.snapshotAvailable()) {
+            throw new IllegalStateException("base.url=local needs the practice-page snapshot from src/test/resources "
+                    + "on the classpath; run with the test classpath (e.g. -Dexec.classpathScope=test)");
+        }
+        return PracticePageServer.shared().getBaseUrl();
+    }
+
+    /**
+     * Whether base.url selects the bundled snapshot rather than a page that can change between runs
+     */
+    public static boolean localPracticePage() {
+        return LOCAL.equalsIgnoreCase(System.getProperty("base.url", LIVE_PRACTICE_PAGE));
+    }
+
+    /**
+     * Restore a checkpoint of the practice page before each test instead of reloading it.
+     * Property: page.checkpoint, default true
+     */
+    public static boolean pageCheckpoints() {
+        return Boolean.parseBoolean(System.getProperty("page.checkpoint", "true"));
+    }
+
+    /**
+     * Property: server.port, default 0 (ephemeral)
+     */
+    public static int serverPort() {
+        return Integer.getInteger("server.port", 0);
+    }
+
+    /**
+     * Delay the local server adds before every response.
+     * Property: server.latencyMs, default 0
+     */
+    public static long serverLatencyMillis() {
+        return Long.getLong("server.latencyMs", 0L);
+    }
+
+    /**
+     * Throughput of local server responses in kilobits per second.
+     * Property: server.bandwidthKbps, default 0 (unlimited)
+     */
+    public static long serverBandwidthKbps() {
+        return Long.getLong("server.bandwidthKbps", 0L);
+    }
+
+    /**
+     * Wrap drivers so every WebDriver command is timed.
+     * Property: driver.instrumentation, default true
+     */
+    public static boolean driverInstrumentation() {
+        return Boolean.parseBoolean(System.getProperty("driver.instrumentation", "true"));
+    }
+
+    /**
+     * Directory for reports produced at suite end.
+     * Property: report.dir, default target/reports
+     */
+    public static Path reportDir() {
+        return Paths.get(System.getProperty("report.dir", Paths.get("target", "reports").toString()));
+    }
+
+    /**
+     * Port of the local /metrics endpoint served while the suite runs.
+     * Property: metrics.port, default -1 (off); 0 picks a free port
+     */
+    public static int metricsPort() {
+        return Integer.getInteger("metrics.port", -1);
+    }
+
+    /**
+     * Virtual users of a load run (AutomationPractice load).
+     * Property: load.users, default 4
+     */
+    public static int loadUsers() {
+        return Integer.getInteger("load.users", 4);
+    }
+
+    /**
+     * Time over which load users are started.
+     * Property: load.rampUpSeconds, default 30
+     */
+    public static Duration loadRampUp() {
+        return Duration.ofSeconds(Long.getLong("load.rampUpSeconds", 30L));
+    }
+
+    /**
+     * Length of a load run, including the ramp-up.
+     * Property: load.durationSeconds, default 300
+     */
+    public static Duration loadDuration() {
+        return Duration.ofSeconds(Long.getLong("load.durationSeconds", 300L));
+    }
+
+    /**
+     * Pause of a load user after every step.
+     * Property: load.thinkTimeMs, default 1000
+     */
+    public static Duration loadThinkTime() {
+        return Duration.ofMillis(Long.getLong("load.thinkTimeMs", 1000L));
+    }
+
+    /**
+     * Scenario matrix for ElementScenarioTest, a CSV or JSONL file on disk or the classpath.
+     * Property: scenario.file, default scenarios/element-scenarios.csv
+     */
+    public static String scenarioFile() {
+        return System.getProperty("scenario.file", "scenarios/element-scenarios.csv");
+    }
+
+    /**
+     * Slice of the scenario matrix run by this JVM, from 0 to shard.count - 1.
+     * Property: shard.index, default 0
+     */
+    public static int shardIndex() {
+        return Integer.getInteger("shard.index", 0);
+    }
+
+    /**
+     * Number of slices the scenario matrix is split into.
+     * Property: shard.count, default 1
+     */
+    public static int shardCount() {
+        return Integer.getInteger("shard.count", 1);
+    }
+
+    /**
+     * Directory for per-shard scenario results and the merged file.
+     * Property: scenario.resultsDir, default target/scenario-results
+     */
+    public static Path scenarioResultsDir() {
+        return Paths.get(System.getProperty("scenario.resultsDir", Paths.get("target", "scenario-results").toString()));
+    }
+
+    /**
+     * Retries of a test that failed with a stale element, a timeout or a lost session; 0 disables retries.
+     * Property: retry.max, default 1
+     */
+    public static int retryMaxAttempts() {
+        return Integer.getInteger("retry.max", 1);
+    }
+
+    /**
+     * Zip the screenshot, DOM and browser console of failed tests into report.dir/failures.
+     * Property: artifacts.capture, default true
+     */
+    public static boolean captureArtifacts() {
+        return Boolean.parseBoolean(System.getProperty("artifacts.capture", "true"));
+    }
+
+    /**
+     * Skip tests unchanged since they last passed and run likely failures first.
+     * Property: test.impact, default false
+     */
+    public static boolean testImpact() {
+        return Boolean.parseBoolean(System.getProperty("test.impact", "false"));
+    }
+
+    /**
+     * Where the test impact result cache is kept between builds.
+     * Property: test.impact.dir, default .test-impact
+     */
+    public static Path testImpactDir() {
+        return Paths.get(System.getProperty("test.impact.dir", ".test-impact"));
+    }
+
+    /**
+     * Per-method duration history used for budgets and parallel scheduling.
+     * Property: duration.historyFile, default durations.csv in test.impact.dir
+     */
+    public static Path durationHistoryFile() {
+        String file = System.getProperty("duration.historyFile");
+        return file == null ? testImpactDir().resolve("durations.csv") : Paths.get(file);
+    }
+
+    /**
+     * What happens when a test runs longer than its historical p95 times duration.budgetFactor:
+     * "warn", "fail" or "off".
+     * Property: duration.budget, default warn
+     */
+    public static String durationBudget() {
+        return System.getProperty("duration.budget", "warn").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Multiple of a test's historical p95 duration it may take before it is over budget.
+     * Property: duration.budgetFactor, default 2.0
+     */
+    public static double durationBudgetFactor() {
+        return Double.parseDouble(System.getProperty("duration.budgetFactor", "2.0"));
+    }
+}
@@ -0,0 +1,54 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+/**
+ * Browser Profile
+ * Launch presets for Chrome, selected per suite with -Dbrowser.profile=...
+ */
+public enum BrowserProfile {
+
+    /** Visible, maximized window; what the samples have always used */
+    DESKTOP(false, false, PageLoadStrategy.NORMAL),
+
+    /** New headless mode with a fixed window size and no GPU */
+    HEADLESS(true, false, PageLoadStrategy.NORMAL),
+
+    /**
+     * Headless plus everything that is not needed to drive a page switched off:
+     * extensions, background networking, component updates, sync. The profile
+     * directory lives on tmpfs and pages are considered loaded at DOMContentLoaded.
+     */
+    LEAN(true, true, PageLoadStrategy.EAGER);
+
+    private final boolean headless;
+    private final boolean lean;
+    private final PageLoadStrategy defaultPageLoadStrategy;
+
+    BrowserProfile(boolean headless, boolean lean, PageLoadStrategy defaultPageLoadStrategy) {
+        this.headless = headless;
+        this.lean = lean;
+        this.defaultPageLoadStrategy = defaultPageLoadStrategy;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isLean() {
+        return lean;
+    }
+
+    public PageLoadStrategy getDefaultPageLoadStrategy() {
+        return defaultPageLoadStrategy;
+    }
+
+    public static BrowserProfile fromName(String name) {
+        for (BrowserProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown browser profile '" + name + "', expected one of DESKTOP, HEADLESS, LEAN");
+    }
+}
@@ -0,0 +1,92 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Browser Profile Comparison
+ * Launches Chrome repeatedly with every {@link BrowserProfile} and reports the
+ * startup time and resident memory of the browser process tree, so the number
+ * of browsers that fit on an agent can be estimated per profile.
+ *
+ * Usage: java ... org.seleniumsamples.driver.BrowserProfileComparison [runs] [url]
+ */
+public class BrowserProfileComparison {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfileComparison.class);
+    private static final Path REPORT = Paths.get("target", "profile-comparison.csv");
+
+    public static void main(String[] args) throws IOException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        String url = args.length > 1 ? args[1] : "about:blank";
+
+        List<String> rows = new ArrayList<>();
+        rows.add("profile,run,startupMillis,rssKb");
+        for (BrowserProfile profile : BrowserProfile.values()) {
+            List<Long> startups = new ArrayList<>();
+            List<Long> rss = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                long start = System.nanoTime();
+                WebDriver driver = DriverFactory.createDriver(profile);
+                long startupMillis = (System.nanoTime() - start) / 1_000_000;
+                try {
+                    driver.get(url);
+                    long rssKb = processTreeRssKb();
+                    startups.add(startupMillis);
+                    rss.add(rssKb);
+                    rows.add(String.format("%s,%d,%d,%d", profile, run, startupMillis, rssKb));
+                } finally {
+                    DriverFactory.quit(driver);
+                }
+            }
+            logger.info("{}: median startup {} ms, median RSS {} MB over {} runs",
+                    profile, median(startups), median(rss) / 1024, runs);
+        }
+
+        Files.createDirectories(REPORT.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(REPORT, StandardCharsets.UTF_8))) {
+            rows.forEach(writer::println);
+        }
+        logger.info("Profile comparison written to {}", REPORT.toAbsolutePath());
+    }
+
+    /**
+     * Sums VmRSS of all processes started by this JVM (chromedriver, Chrome and its
+     * renderers). Linux only; returns -1 elsewhere.
+     */
+    static long processTreeRssKb() {
+        long[] total = {0};
+        boolean[] supported = {false};
+        ProcessHandle.current().descendants().forEach(process -> {
+            Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+            try {
+                for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("VmRSS:")) {
+                        total[0] += Long.parseLong(line.replaceAll("[^0-9]", ""));
+                        supported[0] = true;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Process exited or /proc is not available
+            }
+        });
+        return supported[0] ? total[0] : -1;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,186 @@
+package org.seleniumsamples.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Driver Binary Resolver
+ * Finds the chromedriver binary without touching the network whenever possible:
+ * an explicitly pinned path first, then a cache file shared by every JVM on the
+ * machine, and only then WebDriverManager. The cache is guarded by a file lock so
+ * concurrent forks resolve once and reuse the result.
+ */
+public final class DriverBinaryResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final String CACHE_FILE = "driver-cache.properties";
+    private static final String LOCK_FILE = "driver-cache.lock";
+
+    private final Path pinnedPath;
+    private final Path cacheDir;
+    private final String cacheKey;
+    private final boolean offline;
+    private final Supplier<Path> remoteResolver;
+
+    private volatile Path resolved;
+
+    public DriverBinaryResolver(Path pinnedPath, Path cacheDir, String cacheKey, boolean offline,
+                                Supplier<Path> remoteResolver) {
+        this.pinnedPath = pinnedPath;
+        this.cacheDir = cacheDir;
+        this.cacheKey = cacheKey;
+        this.offline = offline;
+        this.remoteResolver = remoteResolver;
+    }
+
+    /**
+     * JVM wide resolver configured through {@link SuiteConfig}, falling back to WebDriverManager
+     */
+    public static DriverBinaryResolver shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Resolves chromedriver once per JVM and publishes it through the
+     * webdriver.chrome.driver property, which ChromeDriver picks up directly
+     */
+    public Path resolveChromeDriver() {
+        Path path = resolved;
+        if (path == null) {
+            synchronized (this) {
+                path = resolved;
+                if (path == null) {
+                    long start = System.nanoTime();
+                    path = resolve();
+                    System.setProperty(CHROME_DRIVER_PROPERTY, path.toString());
+                    resolved = path;
+                    logger.info("Using chromedriver {} (resolved in {} ms)", path, (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Forgets the cached binary, e.g. after Chrome was upgraded and the session
+     * could not be created with the cached driver
+     */
+    public synchronized void invalidate() {
+        resolved = null;
+        System.clearProperty(CHROME_DRIVER_PROPERTY);
+        try {
+            withCacheLock(cache -> {
+                cache.remove(cacheKey);
+                return null;
+            }, true);
+            logger.info("Invalidated cached chromedriver for '{}'", cacheKey);
+        } catch (IOException e) {
+            logger.warn("Could not invalidate driver cache: {}", e.getMessage());
+        }
+    }
+
+    private Path resolve() {
+        if (pinnedPath != null) {
+            if (!isExecutable(pinnedPath)) {
+                throw new IllegalStateException("Pinned chromedriver is not an executable file: " + pinnedPath);
+            }
+            return pinnedPath;
+        }
+
+        try {
+            Path cached = withCacheLock(cache -> {
+                String value = cache.getProperty(cacheKey);
+                return value != null && isExecutable(Paths.get(value)) ? Paths.get(value) : null;
+            }, false);
+            if (cached != null) {
+                return cached;
+            }
+
+            if (offline) {
+                throw new IllegalStateException(String.format("No cached chromedriver for '%s' in %s and "
+                        + "driver.offline=true; set driver.binary.path or run once with network access",
+                        cacheKey, cacheDir.resolve(CACHE_FILE)));
+            }
+
+            // Hold the lock while downloading so parallel JVMs do not all hit the network
+            return withCacheLock(cache -> {
+                String value = cache.getProperty(cacheKey);
+                if (value != null && isExecutable(Paths.get(value))) {
+                    return Paths.get(value);
+                }
+                Path downloaded = remoteResolver.get();
+                cache.setProperty(cacheKey, downloaded.toAbsolutePath().toString());
+                return downloaded;
+            }, true);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not access driver cache in " + cacheDir, e);
+        }
+    }
+
+    private interface CacheAction<T> {
+        T apply(Properties cache) throws IOException;
+    }
+
+    private <T> T withCacheLock(CacheAction<T> action, boolean write) throws IOException {
+        Files.createDirectories(cacheDir);
+        Path cacheFile = cacheDir.resolve(CACHE_FILE);
+        try (FileChannel channel = FileChannel.open(cacheDir.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                Properties cache = new Properties();
+                if (Files.exists(cacheFile)) {
+                    try (InputStream in = Files.newInputStream(cacheFile)) {
+                        cache.load(in);
+                    }
+                }
+
+                T result = action.apply(cache);
+
+                if (write) {
+                    Path temp = Files.createTempFile(cacheDir, CACHE_FILE, ".tmp");
+                    try (OutputStream out = Files.newOutputStream(temp)) {
+                        cache.store(out, "Resolved WebDriver binaries");
+                    }
+                    Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return result;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private static boolean isExecutable(Path path) {
+        return Files.isRegularFile(path) && Files.isExecutable(path);
+    }
+
+    private static final class SharedHolder {
+        private static final DriverBinaryResolver INSTANCE = new DriverBinaryResolver(
+                SuiteConfig.driverBinaryPath(), SuiteConfig.driverCacheDir(), SuiteConfig.driverCacheKey(),
+                SuiteConfig.driverOffline(), SharedHolder::resolveWithWebDriverManager);
+
+        private static Path resolveWithWebDriverManager() {
+            logger.info("No cached chromedriver found, resolving with WebDriverManager...");
+            WebDriverManager manager = WebDriverManager.chromedriver();
+            manager.setup();
+            return Paths.get(manager.getDownloadedDriverPath());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Driver Context
+ * Gives every worker thread its own browser, leased lazily from a {@link DriverPool}.
+ * A test class owns one context, so with parallel="methods" each TestNG worker drives
+ * a separate session and with parallel="classes" each class has its own set.
+ */
+public final class DriverContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverContext.class);
+    // Context each thread last leased through, so listeners can reach the browser of a failing test
+    private static final ThreadLocal<DriverContext> active = new ThreadLocal<>();
+
+    private final DriverPool pool;
+    private final ThreadLocal<WebDriver> current = new ThreadLocal<>();
+    // Every lease made through this context, so one thread can return them all
+    private final Map<Thread, WebDriver> leases = new ConcurrentHashMap<>();
+
+    public DriverContext(DriverPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Browser owned by the calling thread, leased on first use
+     */
+    public WebDriver get() {
+        WebDriver driver = current.get();
+        if (driver == null) {
+            driver = pool.lease();
+            current.set(driver);
+            leases.put(Thread.currentThread(), driver);
+            logger.info("Thread {} now owns a WebDriver ({} active in this context)",
+                    Thread.currentThread().getName(), leases.size());
+        }
+        active.set(this);
+        return driver;
+    }
+
+    /**
+     * Browser the calling thread currently drives through any context, or null
+     */
+    public static WebDriver currentDriver() {
+        DriverContext context = active.get();
+        if (context == null) {
+            return null;
+        }
+        WebDriver driver = context.current.get();
+        // After releaseAll the thread-local may still point at a browser that went back to the pool
+        return driver != null && driver == context.leases.get(Thread.currentThread()) ? driver : null;
+    }
+
+    /**
+     * Hands the calling thread's browser back so its next {@link #get()} leases another
+     * one; a dead session is evicted by the pool on release
+     */
+    public static void discardCurrentDriver() {
+        DriverContext context = active.get();
+        if (context != null) {
+            context.release();
+        }
+    }
+
+    /**
+     * Returns the calling thread's browser to the pool, if it has one
+     */
+    public void release() {
+        WebDriver driver = current.get();
+        current.remove();
+        if (active.get() == this) {
+            active.remove();
+        }
+        if (driver != null) {
+            leases.remove(Thread.currentThread());
+            pool.release(driver);
+        }
+    }
+
+    /**
+     * Returns every browser leased through this context, regardless of the owning thread.
+     * Meant for @AfterClass, which runs on a single thread after all workers are done.
+     */
+    public void releaseAll() {
+        current.remove();
+        List<WebDriver> drivers = new ArrayList<>(leases.values());
+        leases.clear();
+        for (WebDriver driver : drivers) {
+            pool.release(driver);
+        }
+        logger.info("Released {} WebDriver(s), pool metrics: {}", drivers.size(), pool.metrics());
+    }
+}
@@ -0,0 +1,294 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.grid.GridScheduler;
+import org.seleniumsamples.metrics.CommandLatencyListener;
+import org.seleniumsamples.metrics.CommandLatencyRecorder;
+import org.seleniumsamples.metrics.NetworkTimingRecorder;
+import org.seleniumsamples.metrics.SuiteMetrics;
+import org.seleniumsamples.network.NetworkControl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * Driver Factory
+ * Single place that knows how to launch and dispose of a browser session,
+ * shared by the standalone runner, the tests and the driver pool
+ */
+public final class DriverFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
+    private static final Path TMPFS = Paths.get("/dev/shm");
+    private static final List<String> FONT_URL_PATTERNS = Arrays.asList("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot");
+
+    // Resources that live as long as a session and are closed after it quits
+    private static final Map<WebDriver, List<AutoCloseable>> sessionResources = new ConcurrentHashMap<>();
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Launches a new Chrome session using the profile selected for this suite, locally
+     * or on a Selenium Grid depending on driver.mode
+     */
+    public static WebDriver createDriver() {
+        return createDriver(SuiteConfig.browserProfile());
+    }
+
+    /**
+     * Launches a new Chrome session using the given profile
+     */
+    public static WebDriver createDriver(BrowserProfile profile) {
+        boolean grid = SuiteConfig.gridMode();
+        logger.info("Setting up {} WebDriver with {} profile...", grid ? "remote" : "local", profile);
+        long start = System.nanoTime();
+
+        List<AutoCloseable> resources = new CopyOnWriteArrayList<>();
+        WebDriver driver;
+        try {
+            driver = grid ? launchRemote(profile, resources) : launch(profile, resources);
+        } catch (RuntimeException e) {
+            closeAll(resources);
+            throw e;
+        }
+
+        try {
+            if (SuiteConfig.blockFonts()) {
+                blockUrls(driver, FONT_URL_PATTERNS);
+            }
+            if (SuiteConfig.networkControl()) {
+                controlNetwork(driver, resources);
+            }
+        } catch (RuntimeException e) {
+            // The browser (and on a Grid its slot) is already taken; don't leave it behind
+            discard(driver, resources, e);
+            throw e;
+        }
+
+        WebDriver session = SuiteConfig.driverInstrumentation() ? instrument(driver) : driver;
+        sessionResources.put(session, resources);
+        long elapsed = System.nanoTime() - start;
+        SuiteMetrics.DRIVER_STARTUP.labels(grid ? "grid" : "local", profile.name().toLowerCase(Locale.ROOT))
+                .recordNanos(elapsed);
+        logger.info("WebDriver setup completed successfully in {} ms", elapsed / 1_000_000);
+        return session;
+    }
+
+    /**
+     * Wraps the driver so the latency of every command is recorded
+     */
+    private static WebDriver instrument(WebDriver driver) {
+        return new EventFiringDecorator<>(new CommandLatencyListener(CommandLatencyRecorder.shared()))
+                .decorate(driver);
+    }
+
+    /**
+     * Closes the resource once the session has quit
+     *
+     * @return false if the session was not created here (or has already quit); the
+     *         resource is not registered then
+     */
+    public static boolean closeWithSession(WebDriver session, AutoCloseable resource) {
+        List<AutoCloseable> resources = sessionResources.get(session);
+        if (resources == null) {
+            return false;
+        }
+        resources.add(resource);
+        return true;
+    }
+
+    /**
+     * Ends a browser session created by {@link #createDriver()}, never throwing
+     */
+    public static void quit(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error while quitting WebDriver: {}", e.getMessage());
+        }
+
+        List<AutoCloseable> resources = sessionResources.remove(driver);
+        if (resources != null) {
+            closeAll(resources);
+        }
+    }
+
+    private static ChromeDriver launch(BrowserProfile profile, List<AutoCloseable> resources) {
+        // Cached or pinned binary; WebDriverManager is only consulted on a cache miss
+        DriverBinaryResolver resolver = DriverBinaryResolver.shared();
+        resolver.resolveChromeDriver();
+
+        ChromeOptions options = createOptions(profile, resources, true);
+        try {
+            return new ChromeDriver(options);
+        } catch (SessionNotCreatedException e) {
+            // Usually a cached driver that no longer matches an upgraded Chrome
+            logger.warn("Session could not be created, re-resolving chromedriver: {}", e.getMessage());
+            resolver.invalidate();
+            resolver.resolveChromeDriver();
+            return new ChromeDriver(options);
+        }
+    }
+
+    /**
+     * Creates the session on the Grid endpoint picked by the scheduler; the slot is
+     * held as a session resource and freed once the session has quit
+     */
+    private static WebDriver launchRemote(BrowserProfile profile, List<AutoCloseable> resources) {
+        GridScheduler.Slot slot = GridScheduler.shared().acquire();
+        resources.add(slot);
+        SuiteMetrics.GRID_QUEUE_WAIT.labels(slot.getUrl().toString()).recordNanos(slot.getQueueWaitNanos());
+        logger.info("Creating remote session on {}", slot.getUrl());
+        return new RemoteWebDriver(slot.getUrl(), createOptions(profile, resources, false));
+    }
+
+    /**
+     * Quits a session whose setup failed and frees what was acquired for it
+     */
+    private static void discard(WebDriver driver, List<AutoCloseable> resources, RuntimeException failure) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+        closeAll(resources);
+    }
+
+    private static void closeAll(List<AutoCloseable> resources) {
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.warn("Error while releasing session resource: {}", e.getMessage());
+            }
+        }
+    }
+
+    static ChromeOptions createOptions(BrowserProfile profile, List<AutoCloseable> resources, boolean localBrowser) {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        options.setPageLoadStrategy(SuiteConfig.pageLoadStrategy(profile));
+
+        if (profile.isHeadless()) {
+            Dimension size = SuiteConfig.browserWindowSize();
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=" + size.getWidth() + "," + size.getHeight());
+            options.addArguments("--disable-gpu");
+        } else {
+            options.addArguments("--start-maximized");
+        }
+
+        if (profile.isLean()) {
+            options.addArguments("--disable-extensions");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-sync");
+            options.addArguments("--no-first-run");
+            options.addArguments("--mute-audio");
+        }
+
+        if (SuiteConfig.captureArtifacts()) {
+            // Keeps the browser console readable for the artifacts of failed tests
+            LoggingPreferences logs = new LoggingPreferences();
+            logs.enable(LogType.BROWSER, Level.ALL);
+            options.setCapability(ChromeOptions.LOGGING_PREFS, logs);
+        }
+
+        // The profile directory has to exist on the machine running the browser
+        if (profile.isLean() && localBrowser) {
+            Path userDataDir = createUserDataDir();
+            options.addArguments("--user-data-dir=" + userDataDir);
+            resources.add(() -> deleteRecursively(userDataDir));
+        }
+
+        if (SuiteConfig.blockImages()) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        return options;
+    }
+
+    /**
+     * Fonts cannot be switched off through preferences, so matching requests are
+     * blocked through the DevTools protocol instead
+     */
+    private static void blockUrls(WebDriver driver, List<String> patterns) {
+        if (!(driver instanceof HasCdp)) {
+            logger.warn("Cannot block {} on a driver without DevTools support", patterns);
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.enable", Collections.emptyMap());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Collections.singletonMap("urls", new ArrayList<>(patterns)));
+        logger.info("Blocking requests matching {}", patterns);
+    }
+
+    /**
+     * Interception needs the undecorated driver, so it is attached before instrumentation
+     */
+    private static void controlNetwork(WebDriver driver, List<AutoCloseable> resources) {
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Network control needs DevTools, not available on {}", driver.getClass().getSimpleName());
+            return;
+        }
+        resources.add(NetworkControl.attach(driver, SuiteConfig.networkBlockPatterns(),
+                SuiteConfig.networkCacheDir(), NetworkTimingRecorder.shared()));
+    }
+
+    /**
+     * Chrome writes its profile constantly; keeping it in memory avoids disk I/O
+     */
+    private static Path createUserDataDir() {
+        try {
+            Path root = Files.isDirectory(TMPFS) && Files.isWritable(TMPFS)
+                    ? TMPFS : Paths.get(System.getProperty("java.io.tmpdir"));
+            return Files.createTempDirectory(root, "chrome-profile-");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create Chrome user data directory", e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
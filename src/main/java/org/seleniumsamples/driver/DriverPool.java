@@ -0,0 +1,263 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Driver Pool
+ * Keeps a bounded set of warm browser sessions and lends them out, so a test class
+ * does not pay the Chrome cold start on every setup. Sessions are reset between leases
+ * and evicted when they stop responding.
+ */
+public final class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+    private static final String BLANK_PAGE = "about:blank";
+
+    // Concurrent workers of the running suite, set before the shared pool is first used
+    private static volatile int sharedWorkers = 1;
+    // Kept outside the holder, reading a holder field would create the pool
+    private static volatile boolean sharedCreated;
+
+    private final int maxSize;
+    private final Duration leaseTimeout;
+    private final Supplier<WebDriver> factory;
+    private final Consumer<WebDriver> destroyer;
+
+    // One permit per session that may be leased at the same time
+    private final Semaphore capacity;
+    // Most recently returned session first, so the warmest browser is reused
+    private final LinkedBlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+    private final Map<WebDriver, String> primaryHandles = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong totalLeaseWaitNanos = new AtomicLong();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    public DriverPool(int maxSize, Duration leaseTimeout,
+                      Supplier<WebDriver> factory, Consumer<WebDriver> destroyer) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, was " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.leaseTimeout = leaseTimeout;
+        this.factory = factory;
+        this.destroyer = destroyer;
+        this.capacity = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Sizes the shared pool for a suite that runs this many workers at once. Every worker
+     * holds its browser until its class finishes, so a smaller pool is rejected up front
+     * instead of letting the extra workers time out waiting for a lease.
+     *
+     * @throws IllegalStateException if driver.pool.size is below {@code workers}, or the
+     *                               shared pool already exists with fewer sessions
+     */
+    public static void sizeSharedFor(int workers) {
+        int size = SuiteConfig.driverPoolSize(workers);
+        if (size < workers) {
+            throw new IllegalStateException(String.format(
+                    "driver.pool.size (%d) is smaller than the %d workers the suite runs at once", size, workers));
+        }
+        sharedWorkers = Math.max(sharedWorkers, workers);
+        if (sharedCreated && shared().getMaxSize() < workers) {
+            throw new IllegalStateException(String.format(
+                    "The shared driver pool was already created with %d sessions, %d workers need one each",
+                    shared().getMaxSize(), workers));
+        }
+    }
+
+    /**
+     * JVM wide pool backed by {@link DriverFactory}, sized through {@link SuiteConfig}
+     * for the workers passed to {@link #sizeSharedFor(int)} and shut down when the JVM exits
+     */
+    public static DriverPool shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Borrows a browser session, launching one if no idle session is available.
+     * Blocks while all sessions are leased, up to the configured lease timeout.
+     */
+    public WebDriver lease() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!capacity.tryAcquire(leaseTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException(String.format(
+                        "No pooled driver became available within %ds (pool size %d)",
+                        leaseTimeout.getSeconds(), maxSize));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled driver", e);
+        }
+        recordLeaseWait(System.nanoTime() - waitStart);
+
+        WebDriver launched = null;
+        try {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    hits.incrementAndGet();
+                    leased.add(driver);
+                    logger.info("Leased pooled WebDriver (hit), idle sessions left: {}", idle.size());
+                    return driver;
+                }
+                evict(driver, "failed health check");
+            }
+
+            misses.incrementAndGet();
+            launched = factory.get();
+            primaryHandles.put(launched, launched.getWindowHandle());
+            leased.add(launched);
+            logger.info("Leased new WebDriver (miss), live sessions: {}", leased.size() + idle.size());
+            return launched;
+        } catch (RuntimeException e) {
+            // A browser launched but not yet handed out would otherwise outlive the pool
+            if (launched != null) {
+                primaryHandles.remove(launched);
+                leased.remove(launched);
+                try {
+                    destroyer.accept(launched);
+                } catch (RuntimeException quitFailure) {
+                    e.addSuppressed(quitFailure);
+                }
+            }
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased session. The session is reset to a blank page before it is
+     * offered to the next borrower, or evicted if the reset fails.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null || !leased.remove(driver)) {
+            return;
+        }
+        try {
+            if (closed) {
+                evict(driver, "pool shut down");
+            } else if (reset(driver)) {
+                idle.offerFirst(driver);
+            } else {
+                evict(driver, "reset failed");
+            }
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /**
+     * Quits every session, idle or leased, and logs the final pool metrics
+     */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<WebDriver> all = new ArrayList<>(idle);
+        idle.clear();
+        all.addAll(leased);
+        leased.clear();
+        for (WebDriver driver : all) {
+            primaryHandles.remove(driver);
+            destroyer.accept(driver);
+        }
+        logger.info("Driver pool shut down ({} sessions closed): {}", all.size(), metrics());
+    }
+
+    public PoolMetrics metrics() {
+        return new PoolMetrics(hits.get(), misses.get(), evictions.get(),
+                totalLeaseWaitNanos.get(), maxLeaseWaitNanos.get());
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            logger.warn("Pooled WebDriver is unresponsive: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Brings a session back to a neutral state: extra windows closed, cookies and
+     * storage of the current origin cleared, blank page loaded
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            WindowManager.closeAllExcept(driver, primaryHandles.get(driver));
+
+            // Storage is per origin, so it has to be cleared before leaving the page
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Could not reset pooled WebDriver: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void evict(WebDriver driver, String reason) {
+        evictions.incrementAndGet();
+        primaryHandles.remove(driver);
+        logger.info("Evicting pooled WebDriver: {}", reason);
+        destroyer.accept(driver);
+    }
+
+    private void recordLeaseWait(long nanos) {
+        totalLeaseWaitNanos.addAndGet(nanos);
+        maxLeaseWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static final class SharedHolder {
+        private static final DriverPool INSTANCE = createShared();
+
+        private static DriverPool createShared() {
+            DriverPool pool = new DriverPool(SuiteConfig.driverPoolSize(sharedWorkers),
+                    SuiteConfig.driverPoolLeaseTimeout(), DriverFactory::createDriver, DriverFactory::quit);
+            sharedCreated = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "driver-pool-shutdown"));
+            return pool;
+        }
+    }
+}
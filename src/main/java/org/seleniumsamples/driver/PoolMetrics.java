@@ -0,0 +1,70 @@
+package org.seleniumsamples.driver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool Metrics
+ * Immutable snapshot of the driver pool counters
+ */
+public final class PoolMetrics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long totalLeaseWaitNanos;
+    private final long maxLeaseWaitNanos;
+
+    PoolMetrics(long hits, long misses, long evictions, long totalLeaseWaitNanos, long maxLeaseWaitNanos) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.totalLeaseWaitNanos = totalLeaseWaitNanos;
+        this.maxLeaseWaitNanos = maxLeaseWaitNanos;
+    }
+
+    /** Leases served by an already running browser */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Leases that had to launch a new browser */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Browsers discarded because they failed a health check or reset */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getLeases() {
+        return hits + misses;
+    }
+
+    public double getHitRatio() {
+        long leases = getLeases();
+        return leases == 0 ? 0.0 : (double) hits / leases;
+    }
+
+    /** Time spent blocked waiting for a free slot, summed over all leases */
+    public long getTotalLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos);
+    }
+
+    public long getMaxLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos);
+    }
+
+    public double getAverageLeaseWaitMillis() {
+        long leases = getLeases();
+        return leases == 0 ? 0.0 : totalLeaseWaitNanos / 1_000_000.0 / leases;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("leases=%d, hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, "
+                        + "avgLeaseWait=%.1fms, maxLeaseWait=%dms",
+                getLeases(), hits, misses, getHitRatio(), evictions,
+                getAverageLeaseWaitMillis(), getMaxLeaseWaitMillis());
+    }
+}
@@ -0,0 +1,185 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.wait.AdaptiveWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Window Manager
+ * Opens, verifies and closes the windows and tabs a page spawns. The new window is
+ * found by diffing the session's window handles, polled with AdaptiveWait rather
+ * than a fixed sleep, and closing it closes everything that appeared since the
+ * click and returns to the parent, so pooled sessions never accumulate windows.
+ * A session is driven by one thread at a time, so parallel tests never see each
+ * other's handles.
+ */
+public final class WindowManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(WindowManager.class);
+    private static final String READY_STATE_SCRIPT = "return document.readyState";
+    private static final AtomicLong opened = new AtomicLong();
+    private static final AtomicLong swept = new AtomicLong();
+
+    private WindowManager() {
+    }
+
+    /**
+     * Clicks the element and switches to the window or tab it opens
+     */
+    public static ChildWindow open(WebDriver driver, WebElement opener) {
+        return open(driver, opener::click);
+    }
+
+    /**
+     * Runs the action and switches to the window or tab it opens
+     *
+     * @throws org.openqa.selenium.TimeoutException if no window appears within the wait timeout;
+     *         the session is back on the parent window in that case
+     */
+    public static ChildWindow open(WebDriver driver, Runnable opener) {
+        return open(driver, opener, SuiteConfig.waitTimeout());
+    }
+
+    static ChildWindow open(WebDriver driver, Runnable opener, Duration timeout) {
+        String parent = driver.getWindowHandle();
+        Set<String> before = driver.getWindowHandles();
+        long start = System.nanoTime();
+        try {
+            opener.run();
+            Set<String> added = AdaptiveWait.on(driver)
+                    .withTimeout(timeout)
+                    .withMessage("a new window should open")
+                    .until(d -> {
+                        Set<String> handles = new LinkedHashSet<>(d.getWindowHandles());
+                        handles.removeAll(before);
+                        return handles.isEmpty() ? null : handles;
+                    });
+            String handle = added.iterator().next();
+            driver.switchTo().window(handle);
+            opened.incrementAndGet();
+            return new ChildWindow(driver, parent, handle, before, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            // Whatever did open must not outlive the failed attempt
+            closeAllExcept(driver, before, parent);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every window of the session except the given one and switches to it
+     *
+     * @return number of windows closed
+     */
+    public static int closeAllExcept(WebDriver driver, String keep) {
+        return closeAllExcept(driver, Collections.singleton(keep), keep);
+    }
+
+    private static int closeAllExcept(WebDriver driver, Set<String> keep, String focus) {
+        int closed = 0;
+        for (String handle : driver.getWindowHandles()) {
+            if (!keep.contains(handle)) {
+                try {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                    closed++;
+                } catch (NoSuchWindowException e) {
+                    // Closed by the page in the meantime
+                }
+            }
+        }
+        driver.switchTo().window(focus);
+        swept.addAndGet(closed);
+        return closed;
+    }
+
+    /**
+     * Windows opened through the manager, and windows closed that nobody had asked for
+     * (opened as a side effect, or left behind by a failed test)
+     */
+    public static String summary() {
+        return String.format("%d windows opened, %d stray windows closed", opened.get(), swept.get());
+    }
+
+    /**
+     * A window opened from the parent; closing it returns the session to the parent
+     */
+    public static final class ChildWindow implements AutoCloseable {
+        private final WebDriver driver;
+        private final String parentHandle;
+        private final String handle;
+        private final Set<String> before;
+        private final long openNanos;
+        private boolean closed;
+
+        private ChildWindow(WebDriver driver, String parentHandle, String handle, Set<String> before, long openNanos) {
+            this.driver = driver;
+            this.parentHandle = parentHandle;
+            this.handle = handle;
+            this.before = before;
+            this.openNanos = openNanos;
+        }
+
+        public String getHandle() {
+            return handle;
+        }
+
+        public String getParentHandle() {
+            return parentHandle;
+        }
+
+        /**
+         * Time from the click until the new handle was seen
+         */
+        public long getOpenMillis() {
+            return openNanos / 1_000_000;
+        }
+
+        /**
+         * Waits until the window has left about:blank and its document is no longer loading
+         *
+         * @return the title of the loaded page
+         */
+        public String waitUntilLoaded() {
+            return AdaptiveWait.on(driver)
+                    .withMessage("window " + handle + " should load")
+                    .until(d -> {
+                        if ("about:blank".equals(d.getCurrentUrl())) {
+                            return null;
+                        }
+                        Object state = ((JavascriptExecutor) d).executeScript(READY_STATE_SCRIPT);
+                        return "loading".equals(state) ? null : d.getTitle();
+                    });
+        }
+
+        /**
+         * Closes this window and any other window opened since, then switches to the parent
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.contains(handle)) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            int stray = closeAllExcept(driver, before, parentHandle);
+            if (stray > 0) {
+                logger.warn("Closed {} stray window(s) opened alongside {}", stray, handle);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.seleniumsamples.element;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Element Snapshot
+ * Immutable copy of an element's state, read in bulk by {@link ElementSnapshots}
+ * so assertions do not cost a WebDriver round trip each
+ */
+public final class ElementSnapshot {
+
+    private final int index;
+    private final String tagName;
+    private final String text;
+    private final Map<String, String> attributes;
+    private final boolean selected;
+    private final boolean displayed;
+    private final boolean enabled;
+
+    ElementSnapshot(int index, String tagName, String text, Map<String, String> attributes,
+                    boolean selected, boolean displayed, boolean enabled) {
+        this.index = index;
+        this.tagName = tagName;
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        this.selected = selected;
+        this.displayed = displayed;
+        this.enabled = enabled;
+    }
+
+    /** Position of the element in the list it was captured from */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    /** Rendered text, trimmed */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Value of a requested attribute, following WebElement.getAttribute semantics
+     * (the DOM property when it exists, otherwise the HTML attribute); null if absent
+     */
+    public String getAttribute(String name) {
+        if (!attributes.containsKey(name)) {
+            throw new IllegalArgumentException("Attribute '" + name + "' was not captured in this snapshot");
+        }
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /** Checked state for radio buttons and checkboxes, selected state for options */
+    public boolean isSelected() {
+        return selected;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<%s>#%d text='%s' attributes=%s selected=%s displayed=%s enabled=%s",
+                tagName, index, text, attributes, selected, displayed, enabled);
+    }
+}
@@ -0,0 +1,87 @@
+package org.seleniumsamples.element;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Element Snapshots
+ * Reads the state of a whole list of elements with a single executeScript call,
+ * instead of one getAttribute/isSelected/isDisplayed/isEnabled command per element
+ */
+public final class ElementSnapshots {
+
+    // arguments: elements (or a CSS selector), attribute names
+    private static final String SNAPSHOT_SCRIPT =
+            "var source = arguments[0], names = arguments[1];"
+            + "var els = typeof source === 'string'"
+            + "  ? Array.prototype.slice.call(document.querySelectorAll(source)) : source;"
+            + "return els.map(function (el) {"
+            + "  var attrs = {};"
+            + "  names.forEach(function (n) {"
+            + "    var prop = el[n];"
+            + "    var v = (prop !== undefined && prop !== null && typeof prop !== 'object'"
+            + "             && typeof prop !== 'function') ? prop : el.getAttribute(n);"
+            + "    attrs[n] = v === null || v === undefined ? null : String(v);"
+            + "  });"
+            + "  var style = window.getComputedStyle(el);"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  return {"
+            + "    tag: el.tagName.toLowerCase(),"
+            + "    text: (el.innerText || el.textContent || '').trim(),"
+            + "    attributes: attrs,"
+            + "    selected: !!(el.checked || el.selected),"
+            + "    displayed: style.display !== 'none' && style.visibility !== 'hidden'"
+            + "               && (rect.width > 0 || rect.height > 0),"
+            + "    enabled: !el.disabled"
+            + "  };"
+            + "});";
+
+    private ElementSnapshots() {
+    }
+
+    /**
+     * Snapshots the given elements, e.g. the result of one findElements call
+     */
+    public static List<ElementSnapshot> capture(WebDriver driver, List<WebElement> elements, String... attributes) {
+        if (elements.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return run(driver, elements, attributes);
+    }
+
+    /**
+     * Finds and snapshots all elements matching a CSS selector in the same round trip
+     */
+    public static List<ElementSnapshot> capture(WebDriver driver, String cssSelector, String... attributes) {
+        return run(driver, cssSelector, attributes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ElementSnapshot> run(WebDriver driver, Object source, String[] attributes) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, source, Arrays.asList(attributes));
+        List<Map<String, Object>> rows = raw == null ? Collections.emptyList() : (List<Map<String, Object>>) raw;
+
+        List<ElementSnapshot> snapshots = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            Map<String, Object> rawAttributes = (Map<String, Object>) row.get("attributes");
+            Map<String, String> attributeValues = new LinkedHashMap<>();
+            for (String name : attributes) {
+                Object value = rawAttributes.get(name);
+                attributeValues.put(name, value == null ? null : value.toString());
+            }
+            snapshots.add(new ElementSnapshot(i, (String) row.get("tag"), (String) row.get("text"), attributeValues,
+                    Boolean.TRUE.equals(row.get("selected")), Boolean.TRUE.equals(row.get("displayed")),
+                    Boolean.TRUE.equals(row.get("enabled"))));
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
+}
@@ -0,0 +1,263 @@
+package org.seleniumsamples.grid;
+
+import org.openqa.selenium.json.Json;
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grid Scheduler
+ * Client-side admission control in front of one or more Selenium Grid endpoints.
+ * Each endpoint has a known number of Chrome slots; a new session goes to the endpoint
+ * with the lowest share of busy slots, and waits in line when every slot is taken
+ * instead of piling up in the Grid's own new-session queue where it may time out.
+ * Time spent waiting is recorded so slot shortages show up in the run summary.
+ */
+public final class GridScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GridScheduler.class);
+    private static final String BROWSER_NAME = "chrome";
+
+    private final List<Node> nodes;
+    private final Duration queueTimeout;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final AtomicLong queuedRequests = new AtomicLong();
+
+    public GridScheduler(Map<URL, Integer> capacities, Duration queueTimeout) {
+        if (capacities.isEmpty()) {
+            throw new IllegalArgumentException("At least one Grid endpoint is required");
+        }
+        List<Node> list = new ArrayList<>();
+        capacities.forEach((url, capacity) -> list.add(new Node(url, Math.max(1, capacity))));
+        this.nodes = Collections.unmodifiableList(list);
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * JVM wide scheduler for the endpoints in grid.urls, or for standalone servers
+     * started in this JVM when no endpoint is configured
+     */
+    public static GridScheduler shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Reserves a slot on the least loaded endpoint, waiting up to the queue timeout
+     * while all slots are busy. The slot must be closed once the session has quit.
+     */
+    public Slot acquire() {
+        long start = System.nanoTime();
+        long deadline = start + queueTimeout.toNanos();
+        Node node;
+        synchronized (this) {
+            boolean queued = false;
+            while ((node = leastLoaded()) == null) {
+                if (!queued) {
+                    queued = true;
+                    queuedRequests.incrementAndGet();
+                    logger.info("All {} Grid slots are busy, session request queued", getCapacity());
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException(String.format(
+                            "No Grid slot became available within %ds (%d slots)",
+                            queueTimeout.getSeconds(), getCapacity()));
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a Grid slot", e);
+                }
+            }
+            node.active++;
+            node.assigned++;
+        }
+        long waited = System.nanoTime() - start;
+        queueWait.recordNanos(waited);
+        logger.debug("Grid slot on {} acquired after {} ms", node.url, waited / 1_000_000);
+        return new Slot(node, waited);
+    }
+
+    private Node leastLoaded() {
+        Node best = null;
+        for (Node node : nodes) {
+            if (node.active >= node.capacity) {
+                continue;
+            }
+            // Compare active/capacity without division; ties go to the node used least,
+            // so consecutive classes land on different nodes
+            if (best == null
+                    || node.active * best.capacity < best.active * node.capacity
+                    || (node.active * best.capacity == best.active * node.capacity && node.assigned < best.assigned)) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private synchronized void release(Node node) {
+        node.active--;
+        notifyAll();
+    }
+
+    public int getCapacity() {
+        return nodes.stream().mapToInt(node -> node.capacity).sum();
+    }
+
+    /**
+     * Sessions currently running per endpoint
+     */
+    public synchronized Map<URL, Integer> getActiveSessions() {
+        Map<URL, Integer> active = new LinkedHashMap<>();
+        nodes.forEach(node -> active.put(node.url, node.active));
+        return active;
+    }
+
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    public long getQueuedRequests() {
+        return queuedRequests.get();
+    }
+
+    /**
+     * Sessions started per endpoint, how many requests had to queue and how long they waited
+     */
+    public synchronized String summary() {
+        Map<String, Object> waits = queueWait.summary();
+        StringBuilder assigned = new StringBuilder();
+        for (Node node : nodes) {
+            assigned.append(assigned.length() == 0 ? "" : ", ").append(node.url).append('=').append(node.assigned);
+        }
+        return String.format("sessions per node [%s], queued %d, queue wait p50 %s ms, p95 %s ms, max %s ms",
+                assigned, queuedRequests.get(), waits.get("p50Ms"), waits.get("p95Ms"), waits.get("maxMs"));
+    }
+
+    /**
+     * Number of Chrome slots an endpoint advertises on /status, across all of its nodes
+     */
+    public static int discoverCapacity(URL gridUrl) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(gridUrl, "status").openConnection();
+            connection.setConnectTimeout(5_000);
+            connection.setReadTimeout(5_000);
+            try (InputStream in = connection.getInputStream()) {
+                return countChromeSlots(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read Grid status from " + gridUrl, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static int countChromeSlots(String statusJson) {
+        Map<String, Object> status = new Json().toType(statusJson, Json.MAP_TYPE);
+        Map<String, Object> value = (Map<String, Object>) status.getOrDefault("value", Collections.emptyMap());
+        int slots = 0;
+        for (Object node : (Collection<Object>) value.getOrDefault("nodes", Collections.emptyList())) {
+            Map<String, Object> nodeStatus = (Map<String, Object>) node;
+            if ("DOWN".equals(nodeStatus.get("availability"))) {
+                continue;
+            }
+            for (Object slot : (Collection<Object>) nodeStatus.getOrDefault("slots", Collections.emptyList())) {
+                Map<String, Object> stereotype = (Map<String, Object>) ((Map<String, Object>) slot).get("stereotype");
+                if (stereotype != null && BROWSER_NAME.equals(stereotype.get("browserName"))) {
+                    slots++;
+                }
+            }
+        }
+        return slots;
+    }
+
+    private static final class Node {
+        private final URL url;
+        private final int capacity;
+        private int active;
+        private int assigned;
+
+        Node(URL url, int capacity) {
+            this.url = url;
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * A reserved session slot on one endpoint; closing it frees the slot
+     */
+    public final class Slot implements AutoCloseable {
+        private final Node node;
+        private final long queueWaitNanos;
+        private boolean released;
+
+        private Slot(Node node, long queueWaitNanos) {
+            this.node = node;
+            this.queueWaitNanos = queueWaitNanos;
+        }
+
+        public URL getUrl() {
+            return node.url;
+        }
+
+        /** How long the request waited for this slot */
+        public long getQueueWaitNanos() {
+            return queueWaitNanos;
+        }
+
+        @Override
+        public void close() {
+            synchronized (GridScheduler.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(node);
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final GridScheduler INSTANCE = createShared();
+
+        private static GridScheduler createShared() {
+            List<URL> urls = SuiteConfig.gridUrls();
+            if (urls.isEmpty()) {
+                urls = LocalGrid.start(SuiteConfig.gridNodes(), SuiteConfig.gridMaxSessions());
+            }
+            Map<URL, Integer> capacities = new LinkedHashMap<>();
+            for (URL url : urls) {
+                int capacity = discoverCapacity(url);
+                if (capacity == 0) {
+                    logger.warn("Grid endpoint {} advertises no Chrome slots, assuming one", url);
+                }
+                capacities.put(url, capacity);
+            }
+            logger.info("Scheduling sessions over Grid endpoints {}", capacities);
+
+            GridScheduler scheduler = new GridScheduler(capacities, SuiteConfig.gridQueueTimeout());
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> logger.info("Grid scheduler: {}", scheduler.summary()), "grid-scheduler-summary"));
+            return scheduler;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.seleniumsamples.grid;
+
+import org.openqa.selenium.json.Json;
+import org.seleniumsamples.driver.DriverBinaryResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local Grid
+ * Starts Selenium Grid standalone servers inside the current JVM, one per simulated
+ * node, each allowed to run several Chrome sessions. Grid is only needed on the
+ * classpath in grid mode (mvn test -Pgrid), so it is started through its command
+ * line entry point instead of a compile time dependency.
+ */
+public final class LocalGrid {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalGrid.class);
+    private static final String GRID_MAIN = "org.openqa.selenium.grid.Main";
+    private static final long STARTUP_TIMEOUT_MILLIS = 60_000;
+
+    private LocalGrid() {
+    }
+
+    /**
+     * Starts the standalone servers and waits until all of them report ready
+     *
+     * @return base URLs of the started servers
+     */
+    public static List<URL> start(int nodes, int maxSessionsPerNode) {
+        // Nodes look up chromedriver through webdriver.chrome.driver like a local ChromeDriver
+        DriverBinaryResolver.shared().resolveChromeDriver();
+        Method main = gridMain();
+
+        List<URL> urls = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            int port = freePort();
+            String[] args = {
+                    "standalone",
+                    "--host", "localhost",
+                    "--port", String.valueOf(port),
+                    "--max-sessions", String.valueOf(maxSessionsPerNode),
+                    "--override-max-sessions", "true",
+                    "--selenium-manager", "false",
+                    "--log-level", "WARNING"
+            };
+            Thread thread = new Thread(() -> run(main, args), "grid-node-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            urls.add(url(port));
+        }
+
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        for (URL url : urls) {
+            waitUntilReady(url, deadline);
+        }
+        logger.info("Started {} in-process Grid node(s) with {} session(s) each: {}", nodes, maxSessionsPerNode, urls);
+        return urls;
+    }
+
+    private static Method gridMain() {
+        try {
+            return Class.forName(GRID_MAIN).getMethod("main", String[].class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException("Selenium Grid is not on the classpath; run with -Pgrid "
+                    + "or point grid.urls at running Grid endpoints", e);
+        }
+    }
+
+    private static void run(Method main, String[] args) {
+        try {
+            main.invoke(null, (Object) args);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            logger.error("In-process Grid node failed: {}", e.getCause() == null ? e : e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void waitUntilReady(URL url, long deadline) {
+        Json json = new Json();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(url, "status").openConnection();
+                connection.setConnectTimeout(1_000);
+                connection.setReadTimeout(1_000);
+                try (InputStream in = connection.getInputStream()) {
+                    Map<String, Object> status = json.toType(new String(in.readAllBytes(), StandardCharsets.UTF_8),
+                            Json.MAP_TYPE);
+                    Map<String, Object> value = (Map<String, Object>) status.get("value");
+                    if (value != null && Boolean.TRUE.equals(value.get("ready"))) {
+                        return;
+                    }
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Grid at " + url, e);
+            }
+        }
+        throw new IllegalStateException("In-process Grid at " + url + " did not become ready within "
+                + STARTUP_TIMEOUT_MILLIS / 1000 + "s");
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not find a free port for the Grid", e);
+        }
+    }
+
+    private static URL url(int port) {
+        try {
+            return new URL("http://localhost:" + port + "/");
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
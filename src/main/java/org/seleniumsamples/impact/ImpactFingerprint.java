@@ -0,0 +1,168 @@
+package org.seleniumsamples.impact;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Impact Fingerprint
+ * SHA-256 over everything a test's outcome depends on: the compiled test code (the whole
+ * output directory or jar of the test class, so shared helpers and superclasses count),
+ * the compiled framework classes, and the fixture it runs against (the bundled page
+ * snapshot, the scenario file and the scenario shard).
+ * When one of them cannot be read, or the tests run against the live page, which can
+ * change without notice, the fingerprint is null and the test is always run.
+ */
+public final class ImpactFingerprint {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImpactFingerprint.class);
+    private static final String SNAPSHOT_ROOT = "practice-page";
+    // Code locations already hashed, so the test classes are read once per JVM
+    private static final Map<Path, String> codeHashes = new ConcurrentHashMap<>();
+
+    private ImpactFingerprint() {
+    }
+
+    /**
+     * Fingerprint of a test class, or null if any of its inputs is unknown
+     */
+    public static String of(Class<?> testClass) {
+        String testCodeHash = codeHash(testClass);
+        String frameworkHash = codeHash(SuiteConfig.class);
+        String fixtureHash = SuiteConfig.localPracticePage() ? Shared.FIXTURE : null;
+        if (testCodeHash == null || frameworkHash == null || fixtureHash == null) {
+            return null;
+        }
+        return hex(digest().digest((testCodeHash + frameworkHash + fixtureHash).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Hash of the directory or jar the class is loaded from, e.g. target/test-classes for
+     * a test or target/classes for the framework
+     */
+    static String codeHash(Class<?> type) {
+        Path location;
+        try {
+            location = Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException | RuntimeException e) {
+            logger.warn("Could not locate the classes of {}: {}", type.getName(), e.getMessage());
+            return null;
+        }
+        return codeHashes.computeIfAbsent(location, ImpactFingerprint::hashLocation);
+    }
+
+    private static String hashLocation(Path location) {
+        try {
+            return Files.isDirectory(location)
+                    ? hashTree(location)
+                    : hashFiles(location.getParent(), Collections.singletonList(location));
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not hash {}: {}", location, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Hash of the page snapshot served for base.url=local, the scenario file and the shard
+     * of it this JVM runs, so each shard has its own green runs
+     */
+    static String fixtureHash(String scenarioFile, int shardIndex, int shardCount) {
+        MessageDigest digest = digest();
+        try {
+            Path snapshot = classpathDirectory(SNAPSHOT_ROOT);
+            if (snapshot == null) {
+                logger.warn("Page snapshot {} is not a directory on the classpath, every test runs", SNAPSHOT_ROOT);
+                return null;
+            }
+            digest.update(hashTree(snapshot).getBytes(StandardCharsets.UTF_8));
+            digest.update(hashScenarioFile(scenarioFile).getBytes(StandardCharsets.UTF_8));
+            digest.update(("shard " + shardIndex + " of " + shardCount).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not hash the test fixtures: {}", e.getMessage());
+            return null;
+        }
+        return hex(digest.digest());
+    }
+
+    private static String hashScenarioFile(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            return hex(digest().digest(Files.readAllBytes(path)));
+        }
+        try (InputStream in = ImpactFingerprint.class.getClassLoader().getResourceAsStream(location)) {
+            // A missing scenario file fails the scenario tests anyway; it hashes as empty
+            return in == null ? "" : hex(digest().digest(in.readAllBytes()));
+        }
+    }
+
+    private static Path classpathDirectory(String name) {
+        URL url = ImpactFingerprint.class.getClassLoader().getResource(name);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static String hashTree(Path root) throws IOException {
+        try (Stream<Path> tree = Files.walk(root)) {
+            return hashFiles(root, tree.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    private static String hashFiles(Path root, List<Path> files) throws IOException {
+        MessageDigest digest = digest();
+        for (Path file : files) {
+            // Names are hashed too, so renaming a file changes the fingerprint
+            digest.update(root.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+        }
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every JRE", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder out = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            out.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Fixture shared by all tests, hashed once per JVM
+     */
+    private static final class Shared {
+        static final String FIXTURE = fixtureHash(SuiteConfig.scenarioFile(), SuiteConfig.shardIndex(),
+                SuiteConfig.shardCount());
+    }
+}
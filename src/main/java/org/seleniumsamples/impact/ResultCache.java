@@ -0,0 +1,157 @@
+package org.seleniumsamples.impact;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result Cache
+ * Last outcome and run history of every test method, kept between builds in
+ * results.csv of the test.impact.dir directory. Keys are Class#method.
+ */
+public final class ResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultCache.class);
+    static final String FILE_NAME = "results.csv";
+    private static final String HEADER = "method,fingerprint,status,runs,failures,meanMs";
+
+    private final Path file;
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    private ResultCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the cache of the directory; a missing or unreadable file starts an empty cache
+     */
+    public static ResultCache load(Path directory) {
+        ResultCache cache = new ResultCache(directory.resolve(FILE_NAME));
+        try (BufferedReader reader = Files.newBufferedReader(cache.file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                logger.warn("Ignoring {} with unexpected header '{}'", cache.file, line);
+                return cache;
+            }
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                if (fields.length != 6) {
+                    logger.warn("Ignoring malformed line in {}: {}", cache.file, line);
+                    continue;
+                }
+                String fingerprint = fields[1].isEmpty() ? null : fields[1];
+                cache.entries.put(fields[0], new Entry(fingerprint, "passed".equals(fields[2]),
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4]), Long.parseLong(fields[5])));
+            }
+        } catch (NoSuchFileException e) {
+            logger.info("No test impact cache yet at {}, every test runs", cache.file);
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not read {}, every test runs: {}", cache.file, e.getMessage());
+            cache.entries.clear();
+        }
+        return cache;
+    }
+
+    /**
+     * History of a method, or null if it never ran
+     */
+    public synchronized Entry get(String method) {
+        return entries.get(method);
+    }
+
+    /**
+     * Adds one run of a method; the mean duration covers all runs
+     */
+    public synchronized void record(String method, String fingerprint, boolean passed, long millis) {
+        Entry previous = entries.get(method);
+        long runs = previous == null ? 1 : previous.runs + 1;
+        long failures = (previous == null ? 0 : previous.failures) + (passed ? 0 : 1);
+        long meanMillis = previous == null ? millis : previous.meanMillis + (millis - previous.meanMillis) / runs;
+        entries.put(method, new Entry(fingerprint, passed, runs, failures, meanMillis));
+    }
+
+    /**
+     * Writes the cache, replacing the file atomically so an aborted build leaves the previous one
+     */
+    public synchronized void save() throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, FILE_NAME, ".tmp");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+            writer.println(HEADER);
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                Entry value = entry.getValue();
+                writer.println(String.join(",", entry.getKey(),
+                        value.fingerprint == null ? "" : value.fingerprint,
+                        value.passed ? "passed" : "failed",
+                        String.valueOf(value.runs),
+                        String.valueOf(value.failures),
+                        String.valueOf(value.meanMillis)));
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * History of one test method
+     */
+    public static final class Entry {
+        private final String fingerprint;
+        private final boolean passed;
+        private final long runs;
+        private final long failures;
+        private final long meanMillis;
+
+        Entry(String fingerprint, boolean passed, long runs, long failures, long meanMillis) {
+            this.fingerprint = fingerprint;
+            this.passed = passed;
+            this.runs = runs;
+            this.failures = failures;
+            this.meanMillis = meanMillis;
+        }
+
+        /**
+         * Fingerprint of the inputs of the last run
+         */
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Whether every invocation of the last run passed
+         */
+        public boolean isPassed() {
+            return passed;
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getMeanMillis() {
+            return meanMillis;
+        }
+
+        /**
+         * Share of failed runs, smoothed so a method with little history is neither
+         * certain to pass nor certain to fail (0.5 before the first run)
+         */
+        public double getFailureProbability() {
+            return (failures + 1.0) / (runs + 2.0);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.seleniumsamples.impact;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Test Impact Interceptor
+ * With -Dtest.impact=true, drops test methods whose fingerprint (test class bytecode,
+ * framework classes, page snapshot and scenario file) is unchanged since a run in which
+ * they passed, and runs the rest in order of failures expected per second of run time,
+ * so a build that is going to fail says so early; LptScheduler leaves that order alone.
+ * Outcomes are written to the result cache when the suite finishes.
+ */
+public class TestImpactInterceptor implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestImpactInterceptor.class);
+    // Assumed duration of a method that has never run
+    private static final long UNKNOWN_MILLIS = 1000;
+
+    private final Function<Class<?>, String> fingerprints;
+    private final Map<String, String> runFingerprints = new ConcurrentHashMap<>();
+    private final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+    private ResultCache cache;
+
+    public TestImpactInterceptor() {
+        this(null, ImpactFingerprint::of);
+    }
+
+    TestImpactInterceptor(ResultCache cache, Function<Class<?>, String> fingerprints) {
+        this.cache = cache;
+        this.fingerprints = fingerprints;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!SuiteConfig.testImpact()) {
+            return methods;
+        }
+        Set<String> dependedUpon = new HashSet<>();
+        for (ITestNGMethod method : context.getAllTestMethods()) {
+            dependedUpon.addAll(Arrays.asList(method.getMethodsDependedUpon()));
+        }
+        return select(methods, dependedUpon, context.getName());
+    }
+
+    List<IMethodInstance> select(List<IMethodInstance> methods, Set<String> dependedUpon, String testName) {
+        ResultCache results = cache();
+        Map<Class<?>, String> byClass = new HashMap<>();
+        List<IMethodInstance> selected = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            Class<?> type = method.getRealClass();
+            if (!byClass.containsKey(type)) {
+                byClass.put(type, fingerprints.apply(type));
+            }
+            String key = key(method);
+            String fingerprint = byClass.get(type);
+            ResultCache.Entry entry = results.get(key);
+            if (fingerprint != null && entry != null && entry.isPassed() && fingerprint.equals(entry.getFingerprint())
+                    && !dependedUpon.contains(method.getQualifiedName())) {
+                unchanged.add(key);
+                continue;
+            }
+            if (fingerprint != null) {
+                runFingerprints.put(key, fingerprint);
+            }
+            selected.add(instance);
+        }
+        selected.sort(Comparator.comparingDouble((IMethodInstance instance) -> failuresPerSecond(results.get(
+                key(instance.getMethod())))).reversed());
+        if (!unchanged.isEmpty()) {
+            logger.info("Test impact: {} skips {} method(s) unchanged since they last passed: {}", testName,
+                    unchanged.size(), unchanged);
+        }
+        logger.info("Test impact: {} runs {} of {} method(s), likeliest failures first", testName, selected.size(),
+                methods.size());
+        return selected;
+    }
+
+    /**
+     * Expected failures found per second spent, the order that finds the first failure
+     * soonest on average
+     */
+    private static double failuresPerSecond(ResultCache.Entry entry) {
+        if (entry == null) {
+            return 0.5 / (UNKNOWN_MILLIS / 1000.0);
+        }
+        return entry.getFailureProbability() / (Math.max(entry.getMeanMillis(), 1) / 1000.0);
+    }
+
+    private synchronized ResultCache cache() {
+        if (cache == null) {
+            cache = ResultCache.load(SuiteConfig.testImpactDir());
+        }
+        return cache;
+    }
+
+    static String key(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, true);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, false);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result, false);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // A retried attempt is decided by the retry; a plain skip proves nothing, so it is not green
+        if (!result.wasRetried()) {
+            record(result, false);
+        }
+    }
+
+    void record(ITestResult result, boolean passed) {
+        if (!SuiteConfig.testImpact()) {
+            return;
+        }
+        // Data provider rows are folded into one outcome per method
+        outcomes.computeIfAbsent(key(result.getMethod()), key -> new Outcome())
+                .add(passed, result.getEndMillis() - result.getStartMillis());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        ResultCache results = cache();
+        for (Map.Entry<String, Outcome> entry : outcomes.entrySet()) {
+            Outcome outcome = entry.getValue();
+            results.record(entry.getKey(), runFingerprints.get(entry.getKey()), outcome.isPassed(),
+                    outcome.getMillis());
+        }
+        outcomes.clear();
+        try {
+            results.save();
+            logger.info("Test impact cache updated in {}", SuiteConfig.testImpactDir());
+        } catch (IOException e) {
+            logger.warn("Could not write the test impact cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Invocations of one method in this run
+     */
+    private static final class Outcome {
+        private boolean passed = true;
+        private long millis;
+
+        synchronized void add(boolean invocationPassed, long invocationMillis) {
+            passed &= invocationPassed;
+            millis += invocationMillis;
+        }
+
+        synchronized boolean isPassed() {
+            return passed;
+        }
+
+        synchronized long getMillis() {
+            return millis;
+        }
+    }
+}
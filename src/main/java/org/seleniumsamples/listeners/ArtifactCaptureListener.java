@@ -0,0 +1,63 @@
+package org.seleniumsamples.listeners;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.driver.DriverContext;
+import org.seleniumsamples.triage.ArtifactWriter;
+import org.seleniumsamples.triage.FailureArtifacts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Artifact Capture Listener
+ * On the final failure of a test (not on attempts that are retried) reads the screenshot,
+ * DOM and browser console from the test's browser and hands them to the ArtifactWriter,
+ * which zips them into report.dir/failures in the background
+ */
+public class ArtifactCaptureListener implements ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactCaptureListener.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final Duration WRITE_TIMEOUT = Duration.ofSeconds(30);
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        if (!SuiteConfig.captureArtifacts()) {
+            return;
+        }
+        String testName = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        // Runs before @AfterMethod hands the browser back, so the page is still the failing one
+        FailureArtifacts artifacts = FailureArtifacts.collect(testName, result.getThrowable(),
+                DriverContext.currentDriver());
+        String fileName = testName + parameterSuffix(result) + "-" + LocalDateTime.now().format(TIMESTAMP) + ".zip";
+        Path target = SuiteConfig.reportDir().resolve("failures").resolve(fileName);
+        ArtifactWriter.shared().submit(artifacts, target);
+    }
+
+    private static String parameterSuffix(ITestResult result) {
+        Object[] parameters = result.getParameters();
+        if (parameters.length == 0) {
+            return "";
+        }
+        return "-" + String.valueOf(parameters[0]).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            if (!ArtifactWriter.shared().awaitPending(WRITE_TIMEOUT)) {
+                logger.warn("Failure artifacts still being written after {} s", WRITE_TIMEOUT.getSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.seleniumsamples.listeners;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.driver.DriverPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+/**
+ * Parallel Suite Configurer
+ * Applies the parallel mode and thread count from system properties to the suites
+ * declared in testng.xml, so the same suite file can run serially or in parallel:
+ * mvn test -Dtestng.parallel=methods -Dtestng.threadCount=4
+ * It then sizes the shared driver pool for the workers the suites run at once.
+ */
+public class ParallelSuiteConfigurer implements IAlterSuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSuiteConfigurer.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = SuiteConfig.parallelMode();
+        if (parallel != null) {
+            applyParallelMode(suites, XmlSuite.ParallelMode.getValidParallel(parallel), SuiteConfig.threadCount());
+        }
+
+        // Every worker needs its own browser, whether the parallelism comes from testng.xml or the command line
+        int workers = 1;
+        for (XmlSuite suite : suites) {
+            workers = Math.max(workers, concurrentWorkers(suite));
+        }
+        DriverPool.sizeSharedFor(workers);
+        logger.info("Driver pool sized for {} concurrent workers", workers);
+    }
+
+    private static void applyParallelMode(List<XmlSuite> suites, XmlSuite.ParallelMode mode, int threadCount) {
+        for (XmlSuite suite : suites) {
+            suite.setParallel(mode);
+            suite.setThreadCount(threadCount);
+            suite.setDataProviderThreadCount(threadCount);
+            // A <test> without its own parallel or thread-count attribute inherits the suite value;
+            // one that declares them (like FrameworkUnitTests) keeps what testng.xml says
+            for (XmlTest test : suite.getTests()) {
+                if (test.getParallel() != mode) {
+                    logger.info("Test '{}' keeps its own parallel={}", test.getName(), test.getParallel());
+                }
+            }
+            logger.info("Suite '{}' runs with parallel={} and thread-count={} (also for parallel data providers)",
+                    suite.getName(), mode, threadCount);
+        }
+    }
+
+    /**
+     * Most threads that can hold a browser at the same time: the workers of the busiest
+     * {@code <test>} (times the tests running side by side with parallel="tests") plus the
+     * threads of a parallel data provider
+     */
+    static int concurrentWorkers(XmlSuite suite) {
+        int perTest = 1;
+        for (XmlTest test : suite.getTests()) {
+            if (runsInParallel(test.getParallel())) {
+                perTest = Math.max(perTest, test.getThreadCount());
+            }
+        }
+        int tests = suite.getParallel() == XmlSuite.ParallelMode.TESTS
+                ? Math.max(1, Math.min(suite.getThreadCount(), suite.getTests().size()))
+                : 1;
+        return tests * perTest + suite.getDataProviderThreadCount();
+    }
+
+    private static boolean runsInParallel(XmlSuite.ParallelMode mode) {
+        // parallel="tests" runs the methods inside each <test> one after another
+        return mode != null && mode != XmlSuite.ParallelMode.NONE && mode != XmlSuite.ParallelMode.TESTS;
+    }
+}
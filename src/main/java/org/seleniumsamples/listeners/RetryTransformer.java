@@ -0,0 +1,26 @@
+package org.seleniumsamples.listeners;
+
+import org.seleniumsamples.triage.TransientFailureRetry;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Retry Transformer
+ * Gives every test method without its own retry analyzer the {@link TransientFailureRetry},
+ * so transient WebDriver failures are retried suite-wide without touching @Test annotations
+ */
+public class RetryTransformer implements IAnnotationTransformer {
+
+    @Override
+    @SuppressWarnings("rawtypes") // the raw Class and Constructor are fixed by IAnnotationTransformer
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        Class<?> current = annotation.getRetryAnalyzerClass();
+        if (current == null || current == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(TransientFailureRetry.class);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.seleniumsamples.listeners;
+
+import org.slf4j.MDC;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Test Log Context Listener
+ * Puts the running test method into the logging context as "testName", so
+ * log4j2-async.xml can route each test's output to its own file even when
+ * tests run in parallel
+ */
+public class TestLogContextListener implements IInvokedMethodListener {
+
+    public static final String TEST_NAME_KEY = "testName";
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            MDC.put(TEST_NAME_KEY, testResult.getTestClass().getRealClass().getSimpleName()
+                    + "." + testResult.getMethod().getMethodName());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            MDC.remove(TEST_NAME_KEY);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.seleniumsamples.load;
+
+import org.seleniumsamples.config.SuiteConfig;
+
+import java.time.Duration;
+
+/**
+ * Load Profile
+ * Shape of a load run: how many virtual users, how quickly they join, how long
+ * the run lasts and how long a user pauses between steps
+ */
+public final class LoadProfile {
+
+    private final int users;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final Duration thinkTime;
+
+    public LoadProfile(int users, Duration rampUp, Duration duration, Duration thinkTime) {
+        if (users < 1) {
+            throw new IllegalArgumentException("A load run needs at least one user, got " + users);
+        }
+        if (rampUp.isNegative() || duration.isNegative() || duration.isZero() || thinkTime.isNegative()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid load profile: ramp-up %s, duration %s, think time %s", rampUp, duration, thinkTime));
+        }
+        this.users = users;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.thinkTime = thinkTime;
+    }
+
+    /**
+     * Profile from the load.* system properties
+     */
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(SuiteConfig.loadUsers(), SuiteConfig.loadRampUp(), SuiteConfig.loadDuration(),
+                SuiteConfig.loadThinkTime());
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    /**
+     * Delay before the given user (0-based) starts, spreading starts evenly over the ramp-up
+     */
+    Duration startDelay(int user) {
+        return rampUp.multipliedBy(user).dividedBy(users);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d users, ramp-up %ds, duration %ds, think time %d ms", users, rampUp.getSeconds(),
+                duration.getSeconds(), thinkTime.toMillis());
+    }
+}
@@ -0,0 +1,146 @@
+package org.seleniumsamples.load;
+
+import org.seleniumsamples.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load Report
+ * Latency and error counts per step of a load run, plus iteration throughput.
+ * Recording is thread-safe; every virtual user writes into the same report.
+ */
+public final class LoadReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadReport.class);
+    static final String REPORT_FILE = "load-report.csv";
+
+    // Sorted by step name for the report
+    private final ConcurrentMap<String, StepStats> steps = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Integer, AtomicLong> iterationsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong failedIterations = new AtomicLong();
+    private volatile long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    public void recordStep(String step, long nanos, boolean passed) {
+        StepStats stats = steps.computeIfAbsent(step, name -> new StepStats());
+        stats.latency.recordNanos(nanos);
+        if (!passed) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    void recordIteration(int user, boolean passed) {
+        iterations.incrementAndGet();
+        iterationsByUser.computeIfAbsent(user, u -> new AtomicLong()).incrementAndGet();
+        if (!passed) {
+            failedIterations.incrementAndGet();
+        }
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public long getIterations() {
+        return iterations.get();
+    }
+
+    public long getFailedIterations() {
+        return failedIterations.get();
+    }
+
+    public long getIterations(int user) {
+        AtomicLong count = iterationsByUser.get(user);
+        return count == null ? 0 : count.get();
+    }
+
+    public double getElapsedSeconds() {
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1_000_000_000.0;
+    }
+
+    /**
+     * Completed iterations per second over the whole run
+     */
+    public double getThroughput() {
+        double elapsed = getElapsedSeconds();
+        return elapsed <= 0 ? 0 : iterations.get() / elapsed;
+    }
+
+    public Map<String, StepStats> getSteps() {
+        return steps;
+    }
+
+    public void log() {
+        logger.info(String.format(Locale.ROOT, "Load run: %d iterations (%d failed) in %.1f s, %.2f iterations/s",
+                iterations.get(), failedIterations.get(), getElapsedSeconds(), getThroughput()));
+        logger.info(String.format(Locale.ROOT, "%-14s %8s %8s %9s %9s %9s %9s",
+                "step", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        steps.forEach((name, stats) -> logger.info(String.format(Locale.ROOT,
+                "%-14s %8d %7.2f%% %9.1f %9.1f %9.1f %9.1f", name, stats.getCount(), stats.getErrorRate() * 100,
+                stats.latency.getPercentileMillis(50), stats.latency.getPercentileMillis(95),
+                stats.latency.getPercentileMillis(99), stats.latency.getMaxMillis())));
+    }
+
+    /**
+     * Writes load-report.csv into the directory
+     */
+    public Path writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path csv = directory.resolve(REPORT_FILE);
+        double elapsed = getElapsedSeconds();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            writer.println("step,count,errors,errorRate,perSecond,meanMs,p50Ms,p95Ms,p99Ms,maxMs");
+            steps.forEach((name, stats) -> writer.println(String.format(Locale.ROOT,
+                    "%s,%d,%d,%.4f,%.3f,%.1f,%.1f,%.1f,%.1f,%.1f", name, stats.getCount(), stats.getErrors(),
+                    stats.getErrorRate(), elapsed <= 0 ? 0 : stats.getCount() / elapsed,
+                    stats.latency.getMeanMillis(), stats.latency.getPercentileMillis(50),
+                    stats.latency.getPercentileMillis(95), stats.latency.getPercentileMillis(99),
+                    stats.latency.getMaxMillis())));
+        }
+        logger.info("Load report written to {}", csv);
+        return csv;
+    }
+
+    /**
+     * Latency and failures of one step
+     */
+    public static final class StepStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getCount() {
+            return latency.getCount();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public double getErrorRate() {
+            long count = latency.getCount();
+            return count == 0 ? 0 : (double) errors.get() / count;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.seleniumsamples.load;
+
+import org.openqa.selenium.WebDriver;
+import org.seleniumsamples.listeners.TestLogContextListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Load Runner
+ * Runs a scenario concurrently with a number of virtual users, each driving its own
+ * browser session from a fixed thread pool. Users join evenly over the ramp-up and
+ * repeat the scenario until the run duration is over; a user whose iteration fails
+ * unexpectedly gets a fresh browser for the next one.
+ */
+public final class LoadRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+    static final String SESSION_STEP = "session";
+
+    /**
+     * One iteration of a virtual user; throwing makes the user start a new session
+     */
+    public interface Scenario {
+        /**
+         * @return true if every step of the iteration passed
+         */
+        boolean run(WebDriver driver, LoadReport report);
+    }
+
+    private final LoadProfile profile;
+    private final Supplier<WebDriver> driverFactory;
+    private final Consumer<WebDriver> driverDisposer;
+    private final Scenario scenario;
+
+    public LoadRunner(LoadProfile profile, Supplier<WebDriver> driverFactory, Consumer<WebDriver> driverDisposer,
+                      Scenario scenario) {
+        this.profile = profile;
+        this.driverFactory = driverFactory;
+        this.driverDisposer = driverDisposer;
+        this.scenario = scenario;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        logger.info("Starting load run: {}", profile);
+        LoadReport report = new LoadReport();
+        AtomicInteger threadIds = new AtomicInteger();
+        // Browser sessions block their thread on every command, so one platform thread per user
+        ExecutorService executor = Executors.newFixedThreadPool(profile.getUsers(),
+                runnable -> new Thread(runnable, "load-user-" + threadIds.incrementAndGet()));
+        try {
+            report.start();
+            long deadline = System.nanoTime() + profile.getDuration().toNanos();
+            List<Future<?>> users = new ArrayList<>();
+            for (int user = 0; user < profile.getUsers(); user++) {
+                int id = user;
+                users.add(executor.submit(() -> runUser(id, deadline, report)));
+            }
+            for (Future<?> user : users) {
+                try {
+                    user.get();
+                } catch (ExecutionException e) {
+                    logger.error("Virtual user ended abnormally: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            report.finish();
+        }
+        return report;
+    }
+
+    private void runUser(int user, long deadline, LoadReport report) {
+        MDC.put(TestLogContextListener.TEST_NAME_KEY, "load-user-" + (user + 1));
+        WebDriver driver = null;
+        try {
+            if (!sleepUntil(System.nanoTime() + profile.startDelay(user).toNanos(), deadline)) {
+                return;
+            }
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                if (driver == null) {
+                    driver = startSession(report);
+                    if (driver == null) {
+                        // Do not hammer a farm that refuses sessions
+                        sleepUntil(System.nanoTime() + Math.max(profile.getThinkTime().toNanos(),
+                                Duration.ofSeconds(1).toNanos()), deadline);
+                        continue;
+                    }
+                }
+                try {
+                    report.recordIteration(user, scenario.run(driver, report));
+                } catch (RuntimeException e) {
+                    logger.warn("Iteration failed, restarting the session: {}", e.getMessage());
+                    report.recordIteration(user, false);
+                    driverDisposer.accept(driver);
+                    driver = null;
+                }
+            }
+        } finally {
+            if (driver != null) {
+                driverDisposer.accept(driver);
+            }
+            MDC.remove(TestLogContextListener.TEST_NAME_KEY);
+        }
+    }
+
+    private WebDriver startSession(LoadReport report) {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = driverFactory.get();
+            report.recordStep(SESSION_STEP, System.nanoTime() - start, true);
+            return driver;
+        } catch (RuntimeException e) {
+            report.recordStep(SESSION_STEP, System.nanoTime() - start, false);
+            logger.warn("Could not start a browser session: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sleeps until the target time, but never past the deadline
+     *
+     * @return false if the deadline was reached or the thread was interrupted
+     */
+    private static boolean sleepUntil(long target, long deadline) {
+        long wakeUp = Math.min(target, deadline);
+        try {
+            long remaining;
+            while ((remaining = wakeUp - System.nanoTime()) > 0) {
+                Thread.sleep(Math.max(1, remaining / 1_000_000));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return System.nanoTime() < deadline;
+    }
+
+    /**
+     * Pause between two steps of a scenario; an interrupt ends the pause and is kept
+     * for the runner to see
+     */
+    public static void think(Duration thinkTime) {
+        if (thinkTime.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(thinkTime.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
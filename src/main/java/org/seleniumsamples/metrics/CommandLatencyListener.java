@@ -0,0 +1,65 @@
+package org.seleniumsamples.metrics;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Command Latency Listener
+ * WebDriverListener that times every call made through a decorated driver, its
+ * elements, navigation and options, and hands the timings to a {@link CommandLatencyRecorder}.
+ * Lookups are recorded together with their locator so slow locators stand out.
+ */
+public class CommandLatencyListener implements WebDriverListener {
+
+    private final CommandLatencyRecorder recorder;
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public CommandLatencyListener(CommandLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args, "");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args, " !" + e.getTargetException().getClass().getSimpleName());
+    }
+
+    private void finish(Method method, Object[] args, String suffix) {
+        if (!isCommand(method)) {
+            return;
+        }
+        Long start = startTimes.get().poll();
+        if (start != null) {
+            recorder.record(commandName(method, args) + suffix, System.nanoTime() - start);
+        }
+    }
+
+    static String commandName(Method method, Object[] args) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        if (args != null && args.length == 1 && args[0] instanceof By) {
+            return name + "(" + args[0] + ")";
+        }
+        return name;
+    }
+
+    private static boolean isCommand(Method method) {
+        // equals/hashCode/toString are answered locally by the proxy
+        return method.getDeclaringClass() != Object.class;
+    }
+}
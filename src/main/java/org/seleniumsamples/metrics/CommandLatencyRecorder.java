@@ -0,0 +1,115 @@
+package org.seleniumsamples.metrics;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Command Latency Recorder
+ * Collects WebDriver command latencies per command and per test method and
+ * writes them out as JSON and CSV reports
+ */
+public final class CommandLatencyRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandLatencyRecorder.class);
+    private static final CommandLatencyRecorder SHARED = new CommandLatencyRecorder();
+    static final String NO_TEST = "(outside test)";
+
+    private final ConcurrentMap<String, LatencyHistogram> byCommand = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> byTest = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> currentTest = new ThreadLocal<>();
+
+    public static CommandLatencyRecorder shared() {
+        return SHARED;
+    }
+
+    /**
+     * Attributes commands issued by the calling thread to a test method until cleared
+     */
+    public void setCurrentTest(String testName) {
+        if (testName == null) {
+            currentTest.remove();
+        } else {
+            currentTest.set(testName);
+        }
+    }
+
+    public void record(String command, long nanos) {
+        byCommand.computeIfAbsent(command, c -> new LatencyHistogram()).recordNanos(nanos);
+        String test = currentTest.get();
+        byTest.computeIfAbsent(test == null ? NO_TEST : test, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, c -> new LatencyHistogram())
+                .recordNanos(nanos);
+    }
+
+    public Map<String, LatencyHistogram> getCommandHistograms() {
+        return new TreeMap<>(byCommand);
+    }
+
+    public Map<String, Map<String, LatencyHistogram>> getTestHistograms() {
+        Map<String, Map<String, LatencyHistogram>> copy = new TreeMap<>();
+        byTest.forEach((test, commands) -> copy.put(test, new TreeMap<>(commands)));
+        return copy;
+    }
+
+    public void reset() {
+        byCommand.clear();
+        byTest.clear();
+    }
+
+    /**
+     * Writes latency-report.json and latency-report.csv into the directory
+     */
+    public void writeReports(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        Map<String, Object> commands = new LinkedHashMap<>();
+        getCommandHistograms().forEach((command, histogram) -> commands.put(command, histogram.summary()));
+        Map<String, Object> tests = new LinkedHashMap<>();
+        getTestHistograms().forEach((test, histograms) -> {
+            Map<String, Object> perCommand = new LinkedHashMap<>();
+            histograms.forEach((command, histogram) -> perCommand.put(command, histogram.summary()));
+            tests.put(test, perCommand);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", commands);
+        report.put("tests", tests);
+
+        Path json = directory.resolve("latency-report.json");
+        Files.write(json, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+
+        Path csv = directory.resolve("latency-report.csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            writer.println("test,command,count,meanMs,p50Ms,p95Ms,p99Ms,maxMs,totalMs");
+            getCommandHistograms().forEach((command, histogram) -> writer.println(csvRow("*", command, histogram)));
+            getTestHistograms().forEach((test, histograms) ->
+                    histograms.forEach((command, histogram) -> writer.println(csvRow(test, command, histogram))));
+        }
+        logger.info("Command latency reports written to {} and {}", json, csv);
+    }
+
+    private static String csvRow(String test, String command, LatencyHistogram histogram) {
+        StringBuilder row = new StringBuilder()
+                .append(quote(test)).append(',')
+                .append(quote(command));
+        for (Object value : histogram.summary().values()) {
+            row.append(',').append(value);
+        }
+        return row.toString();
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,85 @@
+package org.seleniumsamples.metrics;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Command Latency Report Listener
+ * Tags WebDriver commands with the test method that issued them and writes the
+ * latency reports, and the network timing report when network control was on,
+ * when the suite finishes
+ */
+public class CommandLatencyReportListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandLatencyReportListener.class);
+    private static final int SLOWEST_SHOWN = 5;
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            CommandLatencyRecorder.shared().setCurrentTest(testName(testResult));
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            CommandLatencyRecorder.shared().setCurrentTest(null);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        writeNetworkReport();
+        CommandLatencyRecorder recorder = CommandLatencyRecorder.shared();
+        Map<String, LatencyHistogram> commands = recorder.getCommandHistograms();
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        logger.info("Slowest WebDriver commands by p95:");
+        commands.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<String, LatencyHistogram> e) -> e.getValue().getPercentileMillis(95)).reversed())
+                .limit(SLOWEST_SHOWN)
+                .forEach(e -> logger.info("  {}: {}", e.getKey(), e.getValue().summary()));
+
+        try {
+            recorder.writeReports(SuiteConfig.reportDir());
+        } catch (IOException e) {
+            logger.error("Could not write command latency reports: {}", e.getMessage(), e);
+        }
+    }
+
+    private static void writeNetworkReport() {
+        NetworkTimingRecorder network = NetworkTimingRecorder.shared();
+        if (network.isEmpty()) {
+            return;
+        }
+        logger.info("Most expensive resources by total request time:");
+        network.getResources().stream()
+                .limit(SLOWEST_SHOWN)
+                .forEach(r -> logger.info("  {}: {} requests ({} cached, {} blocked), {}", r.getUrl(),
+                        r.getLatency().getCount(), r.getCount(NetworkTimingRecorder.Source.CACHE),
+                        r.getCount(NetworkTimingRecorder.Source.BLOCKED), r.getLatency().summary()));
+        try {
+            network.writeReport(SuiteConfig.reportDir());
+        } catch (IOException e) {
+            logger.error("Could not write network timing report: {}", e.getMessage(), e);
+        }
+    }
+
+    static String testName(ITestResult result) {
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+}
@@ -0,0 +1,93 @@
+package org.seleniumsamples.metrics;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.triage.FailureClassifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics Listener
+ * Records the outcome and duration of every test method into {@link SuiteMetrics},
+ * optionally serves the registry over HTTP during the run (metrics.port) and writes
+ * metrics.prom in the OpenMetrics text format when the suite finishes
+ */
+public class MetricsListener implements ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsListener.class);
+    static final String METRICS_FILE = "metrics.prom";
+
+    private MetricsEndpoint endpoint;
+
+    @Override
+    public void onStart(ISuite suite) {
+        int port = SuiteConfig.metricsPort();
+        if (port < 0 || endpoint != null) {
+            return;
+        }
+        try {
+            endpoint = new MetricsEndpoint(port, MetricsRegistry.shared()).start();
+        } catch (IOException e) {
+            logger.warn("Could not serve metrics on port {}: {}", port, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "passed");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "failed");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result, "failed");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // A retried invocation is reported as skipped; it counts as a retry, not as a skip
+        record(result, result.wasRetried() ? null : "skipped");
+    }
+
+    private static void record(ITestResult result, String status) {
+        String className = result.getTestClass().getRealClass().getSimpleName();
+        String method = result.getMethod().getMethodName();
+        SuiteMetrics.TEST_DURATION.labels(className, method)
+                .record(result.getEndMillis() - result.getStartMillis(), TimeUnit.MILLISECONDS);
+        if (status == null) {
+            SuiteMetrics.RETRIES.labels(className, method).inc();
+        } else {
+            SuiteMetrics.TESTS.labels(className, method, status).inc();
+        }
+        if (result.getStatus() != ITestResult.SUCCESS && result.getThrowable() != null) {
+            SuiteMetrics.FAILURES.labels(className, method,
+                    FailureClassifier.classify(result.getThrowable()).label()).inc();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Path file = SuiteConfig.reportDir().resolve(METRICS_FILE);
+        try {
+            MetricsRegistry.shared().writeTo(file);
+            logger.info("Run metrics written to {}", file);
+        } catch (IOException e) {
+            logger.error("Could not write run metrics: {}", e.getMessage(), e);
+        }
+        if (endpoint != null) {
+            endpoint.close();
+            endpoint = null;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.seleniumsamples.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Metrics Registry
+ * Labelled counters and latency summaries for the test run, exposed in the OpenMetrics
+ * text format so Prometheus (or anything reading its format) can trend suite performance
+ * across builds. Families are declared once and looked up by label values on the hot path.
+ */
+public final class MetricsRegistry {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final MetricsRegistry SHARED = new MetricsRegistry();
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final ConcurrentMap<String, Family<?>> families = new ConcurrentHashMap<>();
+    private final List<Consumer<MetricsRegistry>> collectors = new CopyOnWriteArrayList<>();
+
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Monotonic counter family; exported with the _total suffix
+     */
+    public Family<Counter> counter(String name, String help, String... labelNames) {
+        return register(name, help, "counter", labelNames, labels -> new Counter());
+    }
+
+    /**
+     * Latency family exported as a summary in seconds with p50/p95/p99 quantiles
+     */
+    public Family<LatencyHistogram> summary(String name, String help, String... labelNames) {
+        return register(name, help, "summary", labelNames, labels -> new LatencyHistogram());
+    }
+
+    /**
+     * Runs before every export, for values mirrored from other recorders
+     */
+    public void addCollector(Consumer<MetricsRegistry> collector) {
+        collectors.add(collector);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Family<T> register(String name, String help, String type, String[] labelNames,
+                                   Function<List<String>, T> factory) {
+        Family<?> family = families.computeIfAbsent(name, n -> new Family<>(n, help, type, labelNames, factory));
+        if (!family.type.equals(type) || !Arrays.equals(family.labelNames, labelNames)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type
+                    + " with labels " + Arrays.toString(family.labelNames));
+        }
+        return (Family<T>) family;
+    }
+
+    /**
+     * Current values in the OpenMetrics text format, terminated by # EOF
+     */
+    public String scrape() {
+        collectors.forEach(collector -> collector.accept(this));
+        StringBuilder out = new StringBuilder();
+        for (Family<?> family : new TreeMap<>(families).values()) {
+            family.write(out);
+        }
+        return out.append("# EOF\n").toString();
+    }
+
+    /**
+     * Writes the current values to a file, replacing it atomically so a scraper
+     * reading the file never sees half of it
+     */
+    public void writeTo(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        Files.write(temp, scrape().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * All series of one metric, one child per combination of label values
+     */
+    public static final class Family<T> {
+        private final String name;
+        private final String help;
+        private final String type;
+        private final String[] labelNames;
+        private final Function<List<String>, T> factory;
+        private final ConcurrentMap<List<String>, T> children = new ConcurrentHashMap<>();
+
+        private Family(String name, String help, String type, String[] labelNames, Function<List<String>, T> factory) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelNames = labelNames.clone();
+            this.factory = factory;
+        }
+
+        public T labels(String... values) {
+            if (values.length != labelNames.length) {
+                throw new IllegalArgumentException(String.format("Metric %s expects labels %s, got %s",
+                        name, Arrays.toString(labelNames), Arrays.toString(values)));
+            }
+            return children.computeIfAbsent(Collections.unmodifiableList(Arrays.asList(values.clone())), factory);
+        }
+
+        private void write(StringBuilder out) {
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            out.append("# HELP ").append(name).append(' ').append(escape(help)).append('\n');
+            List<Map.Entry<List<String>, T>> entries = new ArrayList<>(children.entrySet());
+            entries.sort(Map.Entry.comparingByKey(Family::compareLabels));
+            for (Map.Entry<List<String>, T> entry : entries) {
+                List<String> values = entry.getKey();
+                Object child = entry.getValue();
+                if (child instanceof Counter) {
+                    sample(out, "_total", values, null, null, ((Counter) child).get());
+                } else {
+                    LatencyHistogram histogram = (LatencyHistogram) child;
+                    for (double quantile : QUANTILES) {
+                        sample(out, "", values, "quantile", String.valueOf(quantile),
+                                histogram.getPercentileMillis(quantile * 100) / 1000.0);
+                    }
+                    sample(out, "_sum", values, null, null, histogram.getTotalMillis() / 1000.0);
+                    sample(out, "_count", values, null, null, histogram.getCount());
+                }
+            }
+        }
+
+        private static int compareLabels(List<String> a, List<String> b) {
+            for (int i = 0; i < a.size(); i++) {
+                int result = a.get(i).compareTo(b.get(i));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        private void sample(StringBuilder out, String suffix, List<String> values, String extraName, String extraValue,
+                            Number value) {
+            out.append(name).append(suffix);
+            List<String> pairs = new ArrayList<>();
+            for (int i = 0; i < values.size(); i++) {
+                pairs.add(labelNames[i] + "=\"" + escape(values.get(i)) + '"');
+            }
+            if (extraName != null) {
+                pairs.add(extraName + "=\"" + extraValue + '"');
+            }
+            if (!pairs.isEmpty()) {
+                out.append('{').append(String.join(",", pairs)).append('}');
+            }
+            out.append(' ').append(format(value)).append('\n');
+        }
+
+        private static String format(Number value) {
+            if (value instanceof Double) {
+                return String.format(Locale.ROOT, "%.6f", value.doubleValue());
+            }
+            return value.toString();
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+
+    /**
+     * Monotonically increasing count
+     */
+    public static final class Counter {
+        private final AtomicLong value = new AtomicLong();
+
+        public void inc() {
+            value.incrementAndGet();
+        }
+
+        public void inc(long amount) {
+            value.addAndGet(amount);
+        }
+
+        /**
+         * Mirrors a count kept elsewhere; the source must itself only grow
+         */
+        public void set(long total) {
+            value.set(total);
+        }
+
+        public long get() {
+            return value.get();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.seleniumsamples.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network Timing Recorder
+ * Aggregates the time and bytes of every browser request seen by NetworkControl per
+ * resource (URL without query string), so the resources that dominate page load
+ * can be found
+ */
+public final class NetworkTimingRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkTimingRecorder.class);
+    private static final NetworkTimingRecorder SHARED = new NetworkTimingRecorder();
+
+    /**
+     * Where the response came from
+     */
+    public enum Source {
+        NETWORK, CACHE, BLOCKED
+    }
+
+    private final ConcurrentMap<String, Resource> resources = new ConcurrentHashMap<>();
+
+    public static NetworkTimingRecorder shared() {
+        return SHARED;
+    }
+
+    public void record(String url, Source source, long bytes, long nanos) {
+        int query = url.indexOf('?');
+        Resource resource = resources.computeIfAbsent(query < 0 ? url : url.substring(0, query), Resource::new);
+        resource.latency.recordNanos(nanos);
+        resource.bySource[source.ordinal()].incrementAndGet();
+        resource.bytes.addAndGet(bytes);
+    }
+
+    public boolean isEmpty() {
+        return resources.isEmpty();
+    }
+
+    /**
+     * Resources ordered by total time spent on them, most expensive first
+     */
+    public List<Resource> getResources() {
+        List<Resource> list = new ArrayList<>(resources.values());
+        list.sort(Comparator.comparingDouble((Resource r) -> r.latency.getTotalMillis()).reversed());
+        return list;
+    }
+
+    public void reset() {
+        resources.clear();
+    }
+
+    /**
+     * Writes network-report.csv into the directory
+     */
+    public void writeReport(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path csv = directory.resolve("network-report.csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            writer.println("url,requests,network,cache,blocked,bytes,meanMs,p95Ms,maxMs,totalMs");
+            for (Resource resource : getResources()) {
+                Map<String, Object> summary = resource.latency.summary();
+                writer.println(String.join(",",
+                        '"' + resource.url.replace("\"", "\"\"") + '"',
+                        String.valueOf(resource.latency.getCount()),
+                        String.valueOf(resource.getCount(Source.NETWORK)),
+                        String.valueOf(resource.getCount(Source.CACHE)),
+                        String.valueOf(resource.getCount(Source.BLOCKED)),
+                        String.valueOf(resource.bytes.get()),
+                        String.valueOf(summary.get("meanMs")),
+                        String.valueOf(summary.get("p95Ms")),
+                        String.valueOf(summary.get("maxMs")),
+                        String.valueOf(summary.get("totalMs"))));
+            }
+        }
+        logger.info("Network timing report written to {}", csv);
+    }
+
+    /**
+     * Timings of one resource
+     */
+    public static final class Resource {
+        private final String url;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong[] bySource = new AtomicLong[Source.values().length];
+        private final AtomicLong bytes = new AtomicLong();
+
+        Resource(String url) {
+            this.url = url;
+            for (int i = 0; i < bySource.length; i++) {
+                bySource[i] = new AtomicLong();
+            }
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getCount(Source source) {
+            return bySource[source.ordinal()].get();
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.seleniumsamples.metrics;
+
+import org.seleniumsamples.metrics.MetricsRegistry.Counter;
+import org.seleniumsamples.metrics.MetricsRegistry.Family;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Suite Metrics
+ * The metric families exported for a test run, declared in one place so their
+ * names and labels stay stable across builds and dashboards keep working
+ */
+public final class SuiteMetrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.shared();
+
+    public static final Family<LatencyHistogram> TEST_DURATION = REGISTRY.summary(
+            "selenium_test_duration_seconds", "Duration of test method invocations", "class", "method");
+    public static final Family<Counter> TESTS = REGISTRY.counter(
+            "selenium_tests", "Finished test method invocations by outcome", "class", "method", "status");
+    public static final Family<Counter> RETRIES = REGISTRY.counter(
+            "selenium_test_retries", "Test method invocations that failed and were retried", "class", "method");
+    public static final Family<Counter> FAILURES = REGISTRY.counter(
+            "selenium_test_failures", "Failed test method invocations, retried or not, by failure category",
+            "class", "method", "category");
+    public static final Family<LatencyHistogram> DRIVER_STARTUP = REGISTRY.summary(
+            "selenium_driver_startup_seconds", "Time to launch a browser session", "mode", "profile");
+    public static final Family<LatencyHistogram> GRID_QUEUE_WAIT = REGISTRY.summary(
+            "selenium_grid_queue_wait_seconds", "Time a new Grid session waited for a free slot", "node");
+    public static final Family<LatencyHistogram> NAVIGATION = REGISTRY.summary(
+            "selenium_navigation_seconds", "Time to bring the page under test into its initial state", "source");
+    public static final Family<Counter> COMMANDS = REGISTRY.counter(
+            "selenium_webdriver_commands", "WebDriver commands issued by instrumented drivers", "command", "outcome");
+
+    static {
+        REGISTRY.addCollector(registry -> collectCommandCounts());
+    }
+
+    private SuiteMetrics() {
+    }
+
+    /**
+     * Command names carry their arguments, e.g. "WebDriver.findElements(By.name: radioButton)";
+     * they are folded to the method so the series count stays small
+     */
+    private static void collectCommandCounts() {
+        Map<List<String>, Long> counts = new HashMap<>();
+        CommandLatencyRecorder.shared().getCommandHistograms().forEach((command, histogram) -> {
+            int error = command.indexOf(" !");
+            int arguments = command.indexOf('(');
+            int end = arguments >= 0 ? arguments : error >= 0 ? error : command.length();
+            String method = command.substring(0, end);
+            String outcome = error >= 0 ? "error" : "ok";
+            counts.merge(Arrays.asList(method, outcome), histogram.getCount(), Long::sum);
+        });
+        counts.forEach((labels, count) -> COMMANDS.labels(labels.get(0), labels.get(1)).set(count));
+    }
+}
@@ -0,0 +1,158 @@
+package org.seleniumsamples.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.seleniumsamples.metrics.NetworkTimingRecorder;
+import org.seleniumsamples.metrics.NetworkTimingRecorder.Source;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Network Control
+ * Intercepts every request of a Chrome session through the DevTools protocol:
+ * requests matching a blocked pattern are answered with an empty response,
+ * cacheable responses are served from an on-disk cache after the first fetch,
+ * and the time of every request is recorded per resource.
+ */
+public final class NetworkControl implements Filter, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkControl.class);
+
+    private final List<Pattern> blocked;
+    private final ResponseCache cache;
+    private final NetworkTimingRecorder timings;
+    private NetworkInterceptor interceptor;
+
+    NetworkControl(List<String> blockPatterns, ResponseCache cache, NetworkTimingRecorder timings) {
+        this.blocked = new ArrayList<>();
+        for (String pattern : blockPatterns) {
+            blocked.add(glob(pattern));
+        }
+        this.cache = cache;
+        this.timings = timings;
+    }
+
+    /**
+     * Starts intercepting the traffic of a ChromeDriver (or any driver with DevTools support)
+     *
+     * @param blockPatterns URL patterns where * matches any characters, as in Network.setBlockedURLs
+     * @param cacheDir      response cache directory, or null to always use the network
+     */
+    public static NetworkControl attach(WebDriver driver, List<String> blockPatterns, Path cacheDir,
+                                        NetworkTimingRecorder timings) {
+        try {
+            NetworkControl control = new NetworkControl(blockPatterns,
+                    cacheDir == null ? null : new ResponseCache(cacheDir), timings);
+            control.interceptor = new NetworkInterceptor(driver, control);
+            logger.info("Network control active: blocking {}, response cache {}", blockPatterns,
+                    cacheDir == null ? "off" : cacheDir);
+            return control;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create response cache in " + cacheDir, e);
+        }
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            long start = System.nanoTime();
+            String url = request.getUri();
+
+            if (isBlocked(url)) {
+                timings.record(url, Source.BLOCKED, 0, System.nanoTime() - start);
+                return new HttpResponse().setStatus(204);
+            }
+
+            String key = cache == null ? null : ResponseCache.key(request);
+            if (key != null) {
+                HttpResponse cached = readCache(key);
+                if (cached != null) {
+                    timings.record(url, Source.CACHE, 0, System.nanoTime() - start);
+                    return cached;
+                }
+            }
+
+            HttpResponse response = next.execute(request);
+            long bytes = contentLength(response);
+            if (key != null && cache.isCacheable(request, response)) {
+                // Reading the body consumes it, so it is put back for the browser
+                byte[] content = Contents.bytes(response.getContent());
+                response.setContent(Contents.bytes(content));
+                bytes = content.length;
+                writeCache(key, response, content);
+            }
+            timings.record(url, Source.NETWORK, bytes, System.nanoTime() - start);
+            return response;
+        };
+    }
+
+    private static long contentLength(HttpResponse response) {
+        try {
+            String length = response.getHeader("Content-Length");
+            return length == null ? 0 : Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    boolean isBlocked(String url) {
+        for (Pattern pattern : blocked) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HttpResponse readCache(String key) {
+        try {
+            return cache.get(key);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable cache entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCache(String key, HttpResponse response, byte[] content) {
+        try {
+            cache.put(key, response, content);
+        } catch (IOException e) {
+            logger.warn("Could not cache response {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static Pattern glob(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : pattern.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    @Override
+    public void close() {
+        if (interceptor == null) {
+            return;
+        }
+        try {
+            interceptor.close();
+        } catch (WebDriverException e) {
+            // Normal when the session has already quit
+            logger.debug("Network interceptor closed with the session: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.seleniumsamples.network;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Response Cache
+ * On-disk store of HTTP responses keyed by a hash of the method, URL and the request
+ * headers that select a representation. Each entry is a body file plus a JSON file
+ * with status, headers and expiry; the JSON is written last, so a present entry is
+ * complete even when several JVMs fill the cache at once. Entries are served only
+ * while fresh, as given by max-age, Expires or a Last-Modified heuristic.
+ */
+final class ResponseCache {
+
+    // Request headers that can change the response body for the same URL
+    private static final List<String> KEY_HEADERS = Arrays.asList("accept", "accept-language", "range");
+    // The browser gets the decoded body, so transport headers of the original response no longer apply;
+    // cookies belong to the session that was sent them, never to every browser sharing the cache
+    private static final List<String> DROPPED_HEADERS = Arrays.asList(
+            "content-encoding", "content-length", "transfer-encoding", "connection", "set-cookie");
+    // Cache-Control directives that forbid reusing a stored response without revalidation
+    private static final List<String> UNCACHEABLE_DIRECTIVES = Arrays.asList("no-store", "no-cache", "private");
+    // The body is stored decoded, so the encoding never selects a different representation
+    private static final String ACCEPT_ENCODING = "accept-encoding";
+    // Upper bound of the heuristic lifetime of responses without explicit freshness (RFC 9111 4.2.2)
+    private static final Duration MAX_HEURISTIC_LIFETIME = Duration.ofDays(1);
+
+    private final Path directory;
+    private final Clock clock;
+    private final Json json = new Json();
+
+    ResponseCache(Path directory) throws IOException {
+        this(directory, Clock.systemUTC());
+    }
+
+    ResponseCache(Path directory, Clock clock) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.clock = clock;
+    }
+
+    static String key(HttpRequest request) {
+        StringBuilder key = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(request.getUri()).append('\n');
+        for (String header : KEY_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                key.append(header).append(':').append(value).append('\n');
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Only successful GET responses that may be reused and stay fresh for a while; HTML
+     * documents are left out so the page under test is always fetched fresh, and so are
+     * responses that vary on request headers the key does not include or set cookies,
+     * since the cache is shared by every session and run
+     */
+    boolean isCacheable(HttpRequest request, HttpResponse response) {
+        String contentType = response.getHeader("Content-Type");
+        if (!"GET".equals(request.getMethod().name())
+                || response.getStatus() != 200
+                || response.getHeader("Set-Cookie") != null
+                || (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/html"))) {
+            return false;
+        }
+        for (String directive : directives(response)) {
+            if (UNCACHEABLE_DIRECTIVES.contains(directive)) {
+                return false;
+            }
+        }
+        String vary = response.getHeader("Vary");
+        if (vary != null) {
+            for (String header : vary.toLowerCase(Locale.ROOT).split(",")) {
+                String name = header.trim();
+                if (!name.isEmpty() && !KEY_HEADERS.contains(name) && !ACCEPT_ENCODING.equals(name)) {
+                    return false;
+                }
+            }
+        }
+        return freshnessMillis(response) > 0;
+    }
+
+    /**
+     * Remaining freshness lifetime of a response just received: max-age (or s-maxage),
+     * else Expires, else 10% of the time since Last-Modified; less the Age it arrived with
+     */
+    long freshnessMillis(HttpResponse response) {
+        Long sent = parseDate(response.getHeader("Date"));
+        long date = sent == null ? clock.millis() : sent;
+        long lifetime = -1;
+        for (String directive : directives(response)) {
+            if (directive.startsWith("s-maxage=") || (directive.startsWith("max-age=") && lifetime < 0)) {
+                lifetime = seconds(directive.substring(directive.indexOf('=') + 1));
+            }
+        }
+        if (lifetime < 0 && response.getHeader("Expires") != null) {
+            Long expires = parseDate(response.getHeader("Expires"));
+            // An invalid Expires such as "0" means already expired
+            lifetime = expires == null ? 0 : expires - date;
+        }
+        Long modified = parseDate(response.getHeader("Last-Modified"));
+        if (lifetime < 0 && modified != null) {
+            lifetime = Math.min((date - modified) / 10, MAX_HEURISTIC_LIFETIME.toMillis());
+        }
+        String age = response.getHeader("Age");
+        return lifetime - (age == null ? 0 : seconds(age));
+    }
+
+    private static List<String> directives(HttpResponse response) {
+        List<String> directives = new ArrayList<>();
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl != null) {
+            for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+                directives.add(directive.trim().replace("\"", ""));
+            }
+        }
+        return directives;
+    }
+
+    private static long seconds(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Epoch millis of an HTTP date, or null if missing or invalid
+     */
+    private static Long parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cached response for the key, or null if there is none or it has expired
+     */
+    @SuppressWarnings("unchecked")
+    HttpResponse get(String key) throws IOException {
+        Path meta = directory.resolve(key + ".json");
+        Path body = directory.resolve(key + ".body");
+        if (!Files.exists(meta) || !Files.exists(body)) {
+            return null;
+        }
+        Map<String, Object> entry = json.toType(Files.readString(meta, StandardCharsets.UTF_8), Json.MAP_TYPE);
+        Object expires = entry.get("expires");
+        if (!(expires instanceof Number) || clock.millis() >= ((Number) expires).longValue()) {
+            return null;
+        }
+        HttpResponse response = new HttpResponse().setStatus(((Number) entry.get("status")).intValue());
+        for (Object header : (List<Object>) entry.get("headers")) {
+            List<Object> pair = (List<Object>) header;
+            response.addHeader(String.valueOf(pair.get(0)), String.valueOf(pair.get(1)));
+        }
+        return response.setContent(Contents.bytes(Files.readAllBytes(body)));
+    }
+
+    void put(String key, HttpResponse response, byte[] content) throws IOException {
+        List<List<String>> headers = new ArrayList<>();
+        response.forEachHeader((name, value) -> {
+            if (!DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.add(Arrays.asList(name, value));
+            }
+        });
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("status", response.getStatus());
+        entry.put("expires", clock.millis() + freshnessMillis(response));
+        entry.put("headers", headers);
+
+        write(directory.resolve(key + ".body"), content);
+        write(directory.resolve(key + ".json"), json.toJson(entry).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void write(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,143 @@
+package org.seleniumsamples.page;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.seleniumsamples.driver.WindowManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Page Checkpoint
+ * State of a loaded page that tests commonly change: cookies, local and session storage,
+ * the value/checked/selected state of every form control, scroll position and the window
+ * the page lives in. Restoring it puts the page back without a reload. DOM changes made
+ * by page scripts are not captured, so tests depending on those should reload instead.
+ */
+public final class PageCheckpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageCheckpoint.class);
+
+    private static final String CAPTURE_SCRIPT =
+            "function dump(storage) {"
+            + "  var out = {};"
+            + "  try { for (var i = 0; i < storage.length; i++) { var k = storage.key(i); out[k] = storage.getItem(k); } }"
+            + "  catch (e) {}"
+            + "  return out;"
+            + "}"
+            + "var controls = Array.prototype.slice.call(document.querySelectorAll('input, select, textarea'));"
+            + "return {"
+            + "  url: location.href,"
+            + "  local: dump(window.localStorage),"
+            + "  session: dump(window.sessionStorage),"
+            + "  scrollX: window.scrollX,"
+            + "  scrollY: window.scrollY,"
+            + "  controls: controls.map(function (c) {"
+            + "    return {"
+            + "      tag: c.tagName.toLowerCase(),"
+            + "      value: c.value,"
+            + "      checked: !!c.checked,"
+            + "      selected: c.tagName === 'SELECT'"
+            + "          ? Array.prototype.map.call(c.options, function (o) { return o.selected; }) : null"
+            + "    };"
+            + "  })"
+            + "};";
+
+    // arguments: checkpoint captured by CAPTURE_SCRIPT; false when the page no longer matches it
+    private static final String RESTORE_SCRIPT =
+            "var cp = arguments[0];"
+            + "if (location.href !== cp.url) { return false; }"
+            + "var controls = document.querySelectorAll('input, select, textarea');"
+            + "if (controls.length !== cp.controls.length) { return false; }"
+            + "function fill(storage, values) {"
+            + "  try { storage.clear(); Object.keys(values).forEach(function (k) { storage.setItem(k, values[k]); }); }"
+            + "  catch (e) {}"
+            + "}"
+            + "fill(window.localStorage, cp.local);"
+            + "fill(window.sessionStorage, cp.session);"
+            + "for (var i = 0; i < controls.length; i++) {"
+            + "  var c = controls[i], saved = cp.controls[i], changed = false;"
+            + "  if (c.tagName.toLowerCase() !== saved.tag) { return false; }"
+            + "  if (c.type === 'checkbox' || c.type === 'radio') {"
+            + "    if (c.checked !== saved.checked) { c.checked = saved.checked; changed = true; }"
+            + "  } else if (saved.selected) {"
+            + "    for (var j = 0; j < c.options.length && j < saved.selected.length; j++) {"
+            + "      if (c.options[j].selected !== saved.selected[j]) { c.options[j].selected = saved.selected[j]; changed = true; }"
+            + "    }"
+            + "  } else if (c.type !== 'file' && c.value !== saved.value) {"
+            + "    c.value = saved.value; changed = true;"
+            + "  }"
+            // Let page scripts react as they would to the user, e.g. close an autocomplete menu
+            + "  if (changed) {"
+            + "    c.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "    c.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  }"
+            + "}"
+            + "if (document.activeElement && document.activeElement !== document.body) { document.activeElement.blur(); }"
+            + "window.scrollTo(cp.scrollX, cp.scrollY);"
+            + "return true;";
+
+    private final String windowHandle;
+    private final Set<Cookie> cookies;
+    private final Map<String, Object> state;
+
+    private PageCheckpoint(String windowHandle, Set<Cookie> cookies, Map<String, Object> state) {
+        this.windowHandle = windowHandle;
+        this.cookies = Collections.unmodifiableSet(new LinkedHashSet<>(cookies));
+        this.state = Collections.unmodifiableMap(state);
+    }
+
+    /**
+     * Captures the current page with one script call plus one cookie read
+     */
+    @SuppressWarnings("unchecked")
+    public static PageCheckpoint capture(WebDriver driver) {
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        return new PageCheckpoint(driver.getWindowHandle(), driver.manage().getCookies(), state);
+    }
+
+    /**
+     * Puts the page back into the captured state: windows opened since are closed,
+     * cookies reset if they changed, storage and form controls restored in one script.
+     *
+     * @return false if the page is no longer the captured document (e.g. the browser
+     *         navigated elsewhere) and has to be reloaded instead
+     */
+    public boolean restore(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            if (!handles.contains(windowHandle)) {
+                return false;
+            }
+            if (handles.size() > 1) {
+                WindowManager.closeAllExcept(driver, windowHandle);
+            }
+
+            Set<Cookie> current = driver.manage().getCookies();
+            if (!current.equals(cookies)) {
+                driver.manage().deleteAllCookies();
+                cookies.forEach(cookie -> driver.manage().addCookie(cookie));
+            }
+
+            return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(RESTORE_SCRIPT, state));
+        } catch (WebDriverException e) {
+            logger.warn("Could not restore page checkpoint: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /** Address of the captured document */
+    public String getUrl() {
+        return (String) state.get("url");
+    }
+
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+}
@@ -0,0 +1,77 @@
+package org.seleniumsamples.page;
+
+import org.openqa.selenium.WebDriver;
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Page Checkpoints
+ * One checkpoint per browser session, taken after the page was first loaded and
+ * restored before every following test on that session. Entries disappear with
+ * the session they belong to.
+ */
+public final class PageCheckpoints {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageCheckpoints.class);
+    private static final Map<WebDriver, Entry> checkpoints = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong restores = new AtomicLong();
+    private static final AtomicLong loads = new AtomicLong();
+
+    private PageCheckpoints() {
+    }
+
+    /**
+     * Restores the session's checkpoint for the given page, if it has one
+     *
+     * @return true if the page is back in its checkpointed state, false if it has
+     *         to be loaded (and checkpointed with {@link #save}) instead
+     */
+    public static boolean restore(WebDriver driver, String pageUrl) {
+        if (!SuiteConfig.pageCheckpoints()) {
+            return false;
+        }
+        Entry entry = checkpoints.get(driver);
+        if (entry != null && entry.pageUrl.equals(pageUrl)) {
+            if (entry.checkpoint.restore(driver)) {
+                restores.incrementAndGet();
+                return true;
+            }
+            checkpoints.remove(driver);
+            logger.info("Page checkpoint for {} is stale, reloading", pageUrl);
+        }
+        loads.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Checkpoints the page the session just loaded from pageUrl
+     */
+    public static void save(WebDriver driver, String pageUrl) {
+        if (SuiteConfig.pageCheckpoints()) {
+            checkpoints.put(driver, new Entry(pageUrl, PageCheckpoint.capture(driver)));
+        }
+    }
+
+    /**
+     * Page setups served from a checkpoint and by a full load
+     */
+    public static String summary() {
+        return String.format("%d restored from checkpoint, %d full page loads", restores.get(), loads.get());
+    }
+
+    private static final class Entry {
+        private final String pageUrl;
+        private final PageCheckpoint checkpoint;
+
+        Entry(String pageUrl, PageCheckpoint checkpoint) {
+            this.pageUrl = pageUrl;
+            this.checkpoint = checkpoint;
+        }
+    }
+}
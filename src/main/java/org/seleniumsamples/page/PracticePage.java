@@ -0,0 +1,276 @@
+package org.seleniumsamples.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.ui.Select;
+import org.seleniumsamples.driver.DriverFactory;
+import org.seleniumsamples.element.ElementSnapshot;
+import org.seleniumsamples.wait.AdaptiveWait;
+import org.seleniumsamples.wait.WaitConditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Practice Page
+ * Page object for the Rahul Shetty Academy practice page, shared by the standalone
+ * walkthrough and the TestNG tests. Elements are looked up on first use and their
+ * handles cached until the page is loaded again; a handle that has gone stale drops
+ * the cache and the call is retried once on a fresh lookup.
+ *
+ * One instance per browser session, driven by one thread at a time.
+ */
+public final class PracticePage {
+
+    private static final Logger logger = LoggerFactory.getLogger(PracticePage.class);
+
+    public static final By RADIO_BUTTONS = By.name("radioButton");
+    public static final By AUTOCOMPLETE = By.id("autocomplete");
+    public static final String SUGGESTION_ITEMS = ".ui-autocomplete .ui-menu-item";
+    public static final By DROPDOWN = By.id("dropdown-class-example");
+    public static final By DROPDOWN_OPTIONS = By.cssSelector("#dropdown-class-example option");
+    public static final By CHECKBOXES = By.cssSelector("input[type='checkbox']");
+    public static final By OPEN_WINDOW = By.id("openwindow");
+    public static final By OPEN_TAB = By.id("opentab");
+
+    // Page objects of sessions created by DriverFactory, removed when the session quits
+    private static final Map<WebDriver, PracticePage> pages = new ConcurrentHashMap<>();
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalLookups = new AtomicLong();
+    private static final AtomicLong totalStaleRetries = new AtomicLong();
+
+    private final WebDriver driver;
+    // Resolved handles of the current page load
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private final Map<By, List<WebElement>> lists = new HashMap<>();
+    private long hits;
+    private long lookups;
+    private long staleRetries;
+
+    PracticePage(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * The page object of the session; its cache lives as long as the session. A driver
+     * not created by DriverFactory gets a new page object on every call, since nothing
+     * would tell when its session ends.
+     */
+    public static PracticePage of(WebDriver driver) {
+        PracticePage page = pages.get(driver);
+        if (page != null) {
+            return page;
+        }
+        page = new PracticePage(driver);
+        if (DriverFactory.closeWithSession(driver, () -> pages.remove(driver))) {
+            PracticePage existing = pages.putIfAbsent(driver, page);
+            return existing == null ? page : existing;
+        }
+        return page;
+    }
+
+    /**
+     * Loads the page, discarding the handles of the previous load
+     */
+    public PracticePage open(String url) {
+        invalidate();
+        driver.get(url);
+        return this;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public String getTitle() {
+        return driver.getTitle();
+    }
+
+    public List<WebElement> radioButtons() {
+        return elements(RADIO_BUTTONS);
+    }
+
+    public WebElement autocomplete() {
+        return element(AUTOCOMPLETE);
+    }
+
+    public Select dropdown() {
+        return new Select(element(DROPDOWN));
+    }
+
+    /**
+     * The dropdown's options, cached unlike {@link Select#getOptions()}
+     */
+    public List<WebElement> dropdownOptions() {
+        return elements(DROPDOWN_OPTIONS);
+    }
+
+    public List<WebElement> checkboxes() {
+        return elements(CHECKBOXES);
+    }
+
+    public WebElement openWindowButton() {
+        return element(OPEN_WINDOW);
+    }
+
+    public WebElement openTabButton() {
+        return element(OPEN_TAB);
+    }
+
+    /**
+     * Types into the autocomplete field and returns the suggestions as soon as they are rendered
+     */
+    public List<ElementSnapshot> typeForSuggestions(String text) {
+        autocomplete().sendKeys(text);
+        return AdaptiveWait.on(driver).until(WaitConditions.suggestionListPopulated(SUGGESTION_ITEMS));
+    }
+
+    /**
+     * Handle to the first element matching the locator; it is looked up when first used
+     */
+    public WebElement element(By by) {
+        if (elements.containsKey(by)) {
+            hit();
+        }
+        return handle(by, -1);
+    }
+
+    /**
+     * Handles to all elements matching the locator, looked up once per page load
+     */
+    public List<WebElement> elements(By by) {
+        if (lists.containsKey(by)) {
+            hit();
+        }
+        int size = resolveAll(by).size();
+        List<WebElement> handles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            handles.add(handle(by, i));
+        }
+        return handles;
+    }
+
+    /**
+     * Forgets every cached handle, e.g. after the page was changed by other means than {@link #open}
+     */
+    public void invalidate() {
+        elements.clear();
+        lists.clear();
+    }
+
+    /**
+     * Element requests served from handles of the current page load instead of a new lookup
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Lookups that went to the browser
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    public long getStaleRetries() {
+        return staleRetries;
+    }
+
+    /**
+     * Lookups of all sessions served from the cache and from the browser
+     */
+    public static String summary() {
+        return String.format("%d element lookups served from cache, %d sent to the browser, %d stale handles retried",
+                totalHits.get(), totalLookups.get(), totalStaleRetries.get());
+    }
+
+    private WebElement handle(By by, int index) {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class},
+                (proxy, method, args) -> invoke(proxy, by, index, method, args));
+    }
+
+    private Object invoke(Object proxy, By by, int index, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "PracticePage element " + by + (index < 0 ? "" : "[" + index + "]");
+            case "getWrappedElement":
+                return resolve(by, index);
+            default:
+                break;
+        }
+        try {
+            return method.invoke(resolve(by, index), args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getTargetException() instanceof StaleElementReferenceException)) {
+                throw e.getTargetException();
+            }
+        }
+        // The page changed under the cached handles; look everything up again
+        logger.debug("Stale handle for {}, looking it up again", by);
+        staleRetries++;
+        totalStaleRetries.incrementAndGet();
+        invalidate();
+        try {
+            return method.invoke(resolve(by, index), args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private WebElement resolve(By by, int index) {
+        if (index >= 0) {
+            List<WebElement> all = resolveAll(by);
+            if (index >= all.size()) {
+                throw new NoSuchElementException("Only " + all.size() + " elements match " + by + ", wanted #" + index);
+            }
+            return all.get(index);
+        }
+        WebElement element = elements.get(by);
+        if (element != null) {
+            return element;
+        }
+        lookup();
+        element = driver.findElement(by);
+        elements.put(by, element);
+        return element;
+    }
+
+    private List<WebElement> resolveAll(By by) {
+        List<WebElement> all = lists.get(by);
+        if (all != null) {
+            return all;
+        }
+        lookup();
+        all = driver.findElements(by);
+        lists.put(by, all);
+        return all;
+    }
+
+    private void hit() {
+        hits++;
+        totalHits.incrementAndGet();
+    }
+
+    private void lookup() {
+        lookups++;
+        totalLookups.incrementAndGet();
+    }
+}
@@ -0,0 +1,93 @@
+package org.seleniumsamples.scenario;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Element Scenario
+ * One row of the scenario matrix: which practice page element to drive, the input
+ * to give it and the state expected afterwards
+ */
+public final class ElementScenario {
+
+    /**
+     * Element kinds a scenario can target, with the meaning of input and expected
+     */
+    public enum Kind {
+        /** input: value of the radio button to click, expected: value of the selected radio button */
+        RADIO,
+        /** input: visible text to select, expected: visible text of the selected option */
+        DROPDOWN,
+        /** input: text to type, expected: a suggestion that has to be offered */
+        AUTOCOMPLETE,
+        /** input: value of the checkbox to click, expected: "true" or "false" selected state */
+        CHECKBOX;
+
+        static Kind fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown element kind '" + name + "'", e);
+            }
+        }
+    }
+
+    private final long row;
+    private final String id;
+    private final Kind kind;
+    private final String input;
+    private final String expected;
+
+    public ElementScenario(long row, String id, Kind kind, String input, String expected) {
+        this.row = row;
+        this.id = id;
+        this.kind = kind;
+        this.input = input;
+        this.expected = expected;
+    }
+
+    /**
+     * Builds a scenario from a parsed CSV or JSONL row with the columns
+     * id, element, input and expected
+     */
+    static ElementScenario fromRow(long row, Map<String, ?> values) {
+        String element = value(row, values, "element");
+        String id = values.containsKey("id") ? String.valueOf(values.get("id")) : element + "-" + row;
+        return new ElementScenario(row, id, Kind.fromName(element),
+                value(row, values, "input"), value(row, values, "expected"));
+    }
+
+    private static String value(long row, Map<String, ?> values, String column) {
+        Object value = values.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("Scenario row %d has no '%s' column", row, column));
+        }
+        return String.valueOf(value);
+    }
+
+    /** Zero based position of the row in the whole matrix, across all shards */
+    public long getRow() {
+        return row;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,158 @@
+package org.seleniumsamples.scenario;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scenario Result Merger
+ * Combines the per-shard result files of a sharded run into one file in matrix
+ * order and reports missing shards and failures. Run after all shards finished:
+ * mvn compile exec:java -Dexec.mainClass=org.seleniumsamples.scenario.ScenarioResultMerger
+ */
+public final class ScenarioResultMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioResultMerger.class);
+    private static final Pattern SHARD_FILE = Pattern.compile(
+            Pattern.quote(ShardResultWriter.FILE_PREFIX) + "(\\d+)-of-(\\d+)" + Pattern.quote(ShardResultWriter.FILE_SUFFIX));
+    static final String MERGED_FILE = "scenario-results.jsonl";
+
+    private ScenarioResultMerger() {
+    }
+
+    /**
+     * Exits with status 1 when a shard is missing or a scenario failed, so CI can
+     * gate on the merge step. Optional argument: results directory.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : SuiteConfig.scenarioResultsDir();
+        Summary summary = merge(directory, directory.resolve(MERGED_FILE));
+        if (!summary.isComplete() || summary.getFailed() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Merges every shard file in the directory into the output file, ordered by matrix row
+     */
+    public static Summary merge(Path directory, Path output) throws IOException {
+        Json json = new Json();
+        List<Map<String, Object>> results = new ArrayList<>();
+        TreeSet<Integer> shards = new TreeSet<>();
+        int shardCount = -1;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = SHARD_FILE.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                int count = Integer.parseInt(matcher.group(2));
+                if (shardCount != -1 && shardCount != count) {
+                    throw new IllegalStateException(String.format("Results in %s come from runs split into %d and %d "
+                            + "shards; clear the directory before changing shard.count", directory, shardCount, count));
+                }
+                shardCount = count;
+                shards.add(Integer.parseInt(matcher.group(1)));
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (!line.trim().isEmpty()) {
+                        results.add(json.toType(line, Json.MAP_TYPE));
+                    }
+                }
+            }
+        }
+        if (shardCount == -1) {
+            throw new IllegalStateException("No shard result files found in " + directory);
+        }
+
+        results.sort(Comparator.comparingLong(result -> ((Number) result.get("row")).longValue()));
+        int failed = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (Map<String, Object> result : results) {
+                if (!"PASS".equals(result.get("status"))) {
+                    failed++;
+                }
+                // JsonOutput closes its target, so each line is built separately
+                StringBuilder line = new StringBuilder();
+                try (JsonOutput out = json.newOutput(line)) {
+                    out.setPrettyPrint(false).write(result);
+                }
+                writer.append(line).append('\n');
+            }
+        }
+
+        List<Integer> missing = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (!shards.contains(shard)) {
+                missing.add(shard);
+            }
+        }
+        Summary summary = new Summary(results.size(), failed, shardCount, missing);
+        logger.info("Merged {} into {}: {}", directory, output, summary);
+        if (!missing.isEmpty()) {
+            logger.warn("Shards {} of {} have not reported results", missing, shardCount);
+        }
+        return summary;
+    }
+
+    /**
+     * Outcome of a merge
+     */
+    public static final class Summary {
+        private final int total;
+        private final int failed;
+        private final int shardCount;
+        private final List<Integer> missingShards;
+
+        Summary(int total, int failed, int shardCount, List<Integer> missingShards) {
+            this.total = total;
+            this.failed = failed;
+            this.shardCount = shardCount;
+            this.missingShards = Collections.unmodifiableList(missingShards);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public int getShardCount() {
+            return shardCount;
+        }
+
+        public List<Integer> getMissingShards() {
+            return missingShards;
+        }
+
+        public boolean isComplete() {
+            return missingShards.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d scenario(s), %d passed, %d failed, %d/%d shard(s)",
+                    total, total - failed, failed, shardCount - missingShards.size(), shardCount);
+        }
+    }
+}
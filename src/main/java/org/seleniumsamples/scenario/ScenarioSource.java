@@ -0,0 +1,173 @@
+package org.seleniumsamples.scenario;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Scenario Source
+ * Streams scenario rows from a CSV (with header) or JSONL file one line at a time and
+ * keeps only the rows of one shard: row i belongs to shard i % shardCount. Every JVM
+ * reading the same file with the same shard count gets a disjoint slice without any
+ * coordination, and rows of other shards are skipped without being parsed.
+ */
+public final class ScenarioSource {
+
+    private static final Json JSON = new Json();
+
+    private ScenarioSource() {
+    }
+
+    /**
+     * Opens a scenario file from the file system, or from the classpath when no such
+     * file exists. The format follows the extension: .jsonl or CSV otherwise.
+     */
+    public static Iterator<ElementScenario> open(String location, int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid shard %d of %d, expected 0 <= shard.index < shard.count", shardIndex, shardCount));
+        }
+        boolean jsonl = location.toLowerCase(Locale.ROOT).endsWith(".jsonl");
+        return new ShardIterator(openReader(location), jsonl, shardIndex, shardCount);
+    }
+
+    private static BufferedReader openReader(String location) {
+        try {
+            Path path = Paths.get(location);
+            if (Files.isRegularFile(path)) {
+                return Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open scenario file " + location, e);
+        } catch (RuntimeException e) {
+            // Not a valid file system path, try the classpath
+        }
+        InputStream in = ScenarioSource.class.getClassLoader().getResourceAsStream(location);
+        if (in == null) {
+            throw new IllegalArgumentException("Scenario file not found on disk or classpath: " + location);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits one CSV line into fields; supports quoted fields with "" escapes,
+     * but not line breaks inside quotes
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static final class ShardIterator implements Iterator<ElementScenario> {
+
+        private final BufferedReader reader;
+        private final boolean jsonl;
+        private final int shardIndex;
+        private final int shardCount;
+
+        private List<String> header;
+        private long row;
+        private ElementScenario next;
+        private boolean exhausted;
+
+        ShardIterator(BufferedReader reader, boolean jsonl, int shardIndex, int shardCount) {
+            this.reader = reader;
+            this.jsonl = jsonl;
+            this.shardIndex = shardIndex;
+            this.shardCount = shardCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public ElementScenario next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ElementScenario scenario = next;
+            next = null;
+            return scenario;
+        }
+
+        private ElementScenario readNext() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    if (!jsonl && header == null) {
+                        header = parseCsvLine(line);
+                        continue;
+                    }
+                    long current = row++;
+                    if (current % shardCount == shardIndex) {
+                        return ElementScenario.fromRow(current, parse(line));
+                    }
+                }
+                exhausted = true;
+                reader.close();
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read scenario file", e);
+            }
+        }
+
+        private Map<String, ?> parse(String line) {
+            if (jsonl) {
+                return JSON.toType(line, Json.MAP_TYPE);
+            }
+            List<String> fields = parseCsvLine(line);
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                values.put(header.get(i), fields.get(i));
+            }
+            return values;
+        }
+    }
+}
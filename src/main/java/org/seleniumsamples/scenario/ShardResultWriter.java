@@ -0,0 +1,93 @@
+package org.seleniumsamples.scenario;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shard Result Writer
+ * Appends one JSON line per executed scenario to a file owned by a single shard
+ * (shard-INDEX-of-COUNT.jsonl), so shards running on different agents never write
+ * to the same file. {@link ScenarioResultMerger} combines them afterwards.
+ */
+public final class ShardResultWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardResultWriter.class);
+    static final String FILE_PREFIX = "shard-";
+    static final String FILE_SUFFIX = ".jsonl";
+
+    private final Json json = new Json();
+    private final Path file;
+    private final int shardIndex;
+    private final int shardCount;
+    private final BufferedWriter writer;
+    private int written;
+
+    public ShardResultWriter(Path directory, int shardIndex, int shardCount) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(fileName(shardIndex, shardCount));
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        // A rerun of the same shard replaces its previous results
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    static String fileName(int shardIndex, int shardCount) {
+        return FILE_PREFIX + shardIndex + "-of-" + shardCount + FILE_SUFFIX;
+    }
+
+    /**
+     * Records the outcome of one scenario; safe to call from parallel data provider threads
+     */
+    public void record(ElementScenario scenario, boolean passed, String actual, long durationMillis, String error) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("row", scenario.getRow());
+        result.put("id", scenario.getId());
+        result.put("element", scenario.getKind().name().toLowerCase(Locale.ROOT));
+        result.put("input", scenario.getInput());
+        result.put("expected", scenario.getExpected());
+        result.put("actual", actual);
+        result.put("status", passed ? "PASS" : "FAIL");
+        result.put("durationMs", durationMillis);
+        result.put("shard", shardIndex);
+        result.put("shardCount", shardCount);
+        if (error != null) {
+            result.put("error", error);
+        }
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = json.newOutput(line)) {
+            out.setPrettyPrint(false).write(result);
+        }
+        synchronized (writer) {
+            try {
+                writer.append(line).append('\n');
+                written++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write scenario result to " + file, e);
+            }
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+        logger.info("Shard {} of {}: {} scenario result(s) written to {}", shardIndex, shardCount, written, file);
+    }
+}
@@ -0,0 +1,112 @@
+package org.seleniumsamples.schedule;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Duration Budget Listener
+ * Adds up the time every test method takes in a run, over all its invocations (data
+ * provider rows, retries), and records the total into the {@link DurationHistory} when
+ * the suite finishes. A method invoked once per run is checked against its budget, its
+ * historical p95 times duration.budgetFactor; over budget is logged as a warning, or with
+ * -Dduration.budget=fail turns the passed test into a failure. Data-driven methods have
+ * no budget, as their rows are not comparable with each other.
+ */
+public class DurationBudgetListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationBudgetListener.class);
+
+    private final DurationHistory history;
+    private final String mode;
+    private final double factor;
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+
+    public DurationBudgetListener() {
+        this(null, SuiteConfig.durationBudget(), SuiteConfig.durationBudgetFactor());
+    }
+
+    DurationBudgetListener(DurationHistory history, String mode, double factor) {
+        this.history = history;
+        this.mode = mode;
+        this.factor = factor;
+    }
+
+    private DurationHistory history() {
+        return history == null ? DurationHistory.shared() : history;
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        ITestNGMethod testMethod = result.getMethod();
+        String key = DurationHistory.key(testMethod);
+        long millis = result.getEndMillis() - result.getStartMillis();
+        runs.computeIfAbsent(key, k -> new Run()).add(millis, result.getStatus() == ITestResult.SUCCESS);
+
+        boolean singleInvocation = !testMethod.isDataDriven() && testMethod.getInvocationCount() <= 1;
+        if (!"off".equals(mode) && singleInvocation && result.getStatus() == ITestResult.SUCCESS) {
+            long budget = history().budgetMillis(key, factor);
+            if (budget >= 0 && millis > budget) {
+                String message = String.format("%s took %d ms, over its budget of %d ms (p95 %d ms x %.1f)",
+                        key, millis, budget, history().percentileMillis(key, 95), factor);
+                if ("fail".equals(mode)) {
+                    result.setStatus(ITestResult.FAILURE);
+                    result.setThrowable(new AssertionError(message));
+                }
+                logger.warn(message);
+            }
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        // Over-budget runs are recorded too, so the history follows a lasting change in speed
+        for (Map.Entry<String, Run> entry : runs.entrySet()) {
+            if (entry.getValue().isComplete()) {
+                history().record(entry.getKey(), entry.getValue().getMillis());
+            }
+        }
+        runs.clear();
+        try {
+            history().save();
+            logger.info("Duration history written to {}", history().getFile());
+        } catch (IOException e) {
+            logger.warn("Could not write duration history: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Invocations of one method in this run; a run with a failed invocation, retried or
+     * not, says little about how long the method usually takes and is not recorded
+     */
+    private static final class Run {
+        private long millis;
+        private boolean complete = true;
+
+        synchronized void add(long invocationMillis, boolean passed) {
+            millis += invocationMillis;
+            complete &= passed;
+        }
+
+        synchronized long getMillis() {
+            return millis;
+        }
+
+        synchronized boolean isComplete() {
+            return complete;
+        }
+    }
+}
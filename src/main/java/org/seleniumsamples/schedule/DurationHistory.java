@@ -0,0 +1,165 @@
+package org.seleniumsamples.schedule;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Duration History
+ * The last per-run durations of every test method, all its invocations (such as data
+ * provider rows) added up, kept between builds in durations.csv (one line per
+ * Class#method, durations in ms separated by ';').
+ * Feeds the duration budget of each method and the LPT schedule of parallel runs.
+ */
+public final class DurationHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+    private static final String HEADER = "method,durationsMs";
+    // Enough runs for a stable p95 while still following lasting changes in speed
+    static final int MAX_SAMPLES = 50;
+    // Fewer runs than this give no budget; a p95 of two runs is noise
+    static final int MIN_SAMPLES = 5;
+    // Below this, differences are timer and GC noise rather than a slower test
+    static final long MIN_BUDGET_MILLIS = 1000;
+
+    private static DurationHistory shared;
+
+    private final Path file;
+    private final Map<String, Deque<Long>> samples = new TreeMap<>();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * History of duration.historyFile, loaded on first use
+     */
+    public static synchronized DurationHistory shared() {
+        if (shared == null) {
+            shared = load(SuiteConfig.durationHistoryFile());
+        }
+        return shared;
+    }
+
+    /**
+     * Reads a history file; a missing or unreadable file starts an empty history
+     */
+    public static DurationHistory load(Path file) {
+        DurationHistory history = new DurationHistory(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                logger.warn("Ignoring {} with unexpected header '{}'", file, line);
+                return history;
+            }
+            while ((line = reader.readLine()) != null) {
+                int comma = line.indexOf(',');
+                if (comma < 0) {
+                    continue;
+                }
+                Deque<Long> durations = new ArrayDeque<>();
+                for (String value : line.substring(comma + 1).split(";")) {
+                    if (!value.isEmpty()) {
+                        durations.add(Long.parseLong(value));
+                    }
+                }
+                history.samples.put(line.substring(0, comma), durations);
+            }
+        } catch (NoSuchFileException e) {
+            logger.info("No duration history yet at {}", file);
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not read duration history {}: {}", file, e.getMessage());
+            history.samples.clear();
+        }
+        return history;
+    }
+
+    public static String key(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    public synchronized void record(String method, long millis) {
+        Deque<Long> durations = samples.computeIfAbsent(method, m -> new ArrayDeque<>());
+        durations.addLast(millis);
+        while (durations.size() > MAX_SAMPLES) {
+            durations.removeFirst();
+        }
+    }
+
+    public synchronized int getSampleCount(String method) {
+        Deque<Long> durations = samples.get(method);
+        return durations == null ? 0 : durations.size();
+    }
+
+    /**
+     * Nearest-rank percentile of the recorded durations, or -1 without history
+     */
+    public synchronized long percentileMillis(String method, double percentile) {
+        Deque<Long> durations = samples.get(method);
+        if (durations == null || durations.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(durations);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    /**
+     * Longest a run may take before it is over budget: p95 times the factor but at least
+     * {@value #MIN_BUDGET_MILLIS} ms, or -1 while there are fewer than {@value #MIN_SAMPLES} runs
+     */
+    public synchronized long budgetMillis(String method, double factor) {
+        if (getSampleCount(method) < MIN_SAMPLES) {
+            return -1;
+        }
+        return Math.max(MIN_BUDGET_MILLIS, (long) Math.ceil(percentileMillis(method, 95) * factor));
+    }
+
+    /**
+     * Expected duration for scheduling: the median, or -1 without history
+     */
+    public long expectedMillis(String method) {
+        return percentileMillis(method, 50);
+    }
+
+    /**
+     * Writes the history, replacing the file atomically
+     */
+    public synchronized void save() throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+            writer.println(HEADER);
+            for (Map.Entry<String, Deque<Long>> entry : samples.entrySet()) {
+                writer.println(entry.getKey() + "," + entry.getValue().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(";")));
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,131 @@
+package org.seleniumsamples.schedule;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * LPT Scheduler
+ * In parallel runs hands test methods to the worker threads longest first, using the
+ * median per-run durations of the {@link DurationHistory}, which for a data-driven
+ * method cover all of its rows. Workers take the next method as
+ * soon as they are free, so longest-first dispatch is the LPT (longest processing
+ * time first) schedule: no worker is left running one long test after the others
+ * have finished. With parallel=classes whole classes are ordered by their total.
+ * Serial runs keep the order of testng.xml and the method priorities, and so do runs
+ * with test.impact, whose likeliest-failures-first order is kept as it is: asking for
+ * test impact selection is asking for the fastest first failure, not the shortest run.
+ */
+public class LptScheduler implements IMethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LptScheduler.class);
+    // Assumed duration of a method without history
+    private static final long UNKNOWN_MILLIS = 1000;
+
+    private final DurationHistory history;
+
+    public LptScheduler() {
+        this(null);
+    }
+
+    LptScheduler(DurationHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        // As set in testng.xml or by ParallelSuiteConfigurer
+        XmlTest test = context.getCurrentXmlTest();
+        XmlSuite.ParallelMode parallel = test.getParallel();
+        int workers = test.getThreadCount();
+        if (parallel == null || !parallel.isParallel() || workers < 2) {
+            return methods;
+        }
+        if (SuiteConfig.testImpact()) {
+            logger.info("LPT schedule for {} not applied, keeping the test impact order", context.getName());
+            return methods;
+        }
+        boolean byClass = parallel == XmlSuite.ParallelMode.CLASSES || parallel == XmlSuite.ParallelMode.INSTANCES;
+        return schedule(methods, byClass, workers, context.getName());
+    }
+
+    List<IMethodInstance> schedule(List<IMethodInstance> methods, boolean byClass, int workers, String testName) {
+        DurationHistory durations = history == null ? DurationHistory.shared() : history;
+        Map<IMethodInstance, Long> expected = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            long millis = durations.expectedMillis(DurationHistory.key(method.getMethod()));
+            expected.put(method, millis < 0 ? UNKNOWN_MILLIS : millis);
+        }
+
+        List<IMethodInstance> ordered;
+        List<List<IMethodInstance>> plan;
+        if (byClass) {
+            Map<Class<?>, List<IMethodInstance>> classes = new LinkedHashMap<>();
+            for (IMethodInstance method : methods) {
+                classes.computeIfAbsent(method.getMethod().getRealClass(), c -> new ArrayList<>()).add(method);
+            }
+            ToLongFunction<List<IMethodInstance>> total = group -> group.stream().mapToLong(expected::get).sum();
+            List<List<IMethodInstance>> groups = new ArrayList<>(classes.values());
+            groups.forEach(group -> group.sort(Comparator.comparingLong(expected::get).reversed()));
+            groups.sort(Comparator.comparingLong(total).reversed());
+            ordered = new ArrayList<>();
+            groups.forEach(ordered::addAll);
+            plan = new ArrayList<>();
+            for (List<List<IMethodInstance>> worker : pack(groups, total, workers)) {
+                List<IMethodInstance> flat = new ArrayList<>();
+                worker.forEach(flat::addAll);
+                plan.add(flat);
+            }
+        } else {
+            ordered = new ArrayList<>(methods);
+            ordered.sort(Comparator.comparingLong(expected::get).reversed());
+            plan = pack(ordered, expected::get, workers);
+        }
+
+        long sum = expected.values().stream().mapToLong(Long::longValue).sum();
+        long makespan = plan.stream()
+                .mapToLong(worker -> worker.stream().mapToLong(expected::get).sum())
+                .max().orElse(0);
+        logger.info("LPT schedule for {}: {} method(s) on {} worker(s), predicted {} ms wall clock for {} ms of tests",
+                testName, methods.size(), workers, makespan, sum);
+        return ordered;
+    }
+
+    /**
+     * Packs items onto workers longest first, each onto the worker with the least work so far
+     *
+     * @return the items of each worker, in dispatch order
+     */
+    public static <T> List<List<T>> pack(List<T> items, ToLongFunction<T> duration, int workers) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong(duration).reversed());
+        List<List<T>> plan = new ArrayList<>();
+        // Load and index of each worker; ties go to the lower index so the plan is deterministic
+        PriorityQueue<long[]> free = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(worker -> worker[0]).thenComparingLong(worker -> worker[1]));
+        for (int i = 0; i < workers; i++) {
+            plan.add(new ArrayList<>());
+            free.add(new long[]{0, i});
+        }
+        for (T item : sorted) {
+            long[] worker = free.poll();
+            plan.get((int) worker[1]).add(item);
+            worker[0] += duration.applyAsLong(item);
+            free.add(worker);
+        }
+        return plan;
+    }
+}
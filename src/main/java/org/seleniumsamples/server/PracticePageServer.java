@@ -0,0 +1,184 @@
+package org.seleniumsamples.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.seleniumsamples.config.SuiteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Practice Page Server
+ * Serves the bundled snapshot of the practice page from the classpath with the JDK
+ * HTTP server, so runs do not depend on the internet. Latency and bandwidth can be
+ * throttled to model real-world conditions deterministically.
+ */
+public final class PracticePageServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PracticePageServer.class);
+    private static final String RESOURCE_ROOT = "practice-page";
+    private static final int CHUNK_SIZE = 1024;
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html; charset=utf-8");
+        CONTENT_TYPES.put("css", "text/css; charset=utf-8");
+        CONTENT_TYPES.put("js", "application/javascript; charset=utf-8");
+        CONTENT_TYPES.put("json", "application/json");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("woff2", "font/woff2");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final long bytesPerSecond;
+
+    /**
+     * @param port           0 for an ephemeral port
+     * @param latencyMillis  delay before every response
+     * @param bandwidthKbps  response body throughput in kilobits per second, 0 for unlimited
+     */
+    public PracticePageServer(int port, long latencyMillis, long bandwidthKbps) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.bytesPerSecond = bandwidthKbps * 1000 / 8;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "practice-page-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Server started on first use with the settings from {@link SuiteConfig} and
+     * kept for the lifetime of the JVM
+     */
+    public static PracticePageServer shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Whether the page snapshot is on the classpath. It is kept with the test resources,
+     * so it is missing when the standalone class runs on the main runtime classpath.
+     */
+    public static boolean snapshotAvailable() {
+        return PracticePageServer.class.getClassLoader().getResource(RESOURCE_ROOT + "/index.html") != null;
+    }
+
+    public PracticePageServer start() {
+        server.start();
+        logger.info("Practice page served at {} (latency {} ms, bandwidth {})", getBaseUrl(), latencyMillis,
+                bytesPerSecond == 0 ? "unlimited" : bytesPerSecond * 8 / 1000 + " kbps");
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/")) {
+                path += "index.html";
+            }
+            byte[] body = path.contains("..") ? null : readResource(RESOURCE_ROOT + path);
+
+            pause(latencyMillis);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String extension = path.substring(path.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Content-Type",
+                    CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                write(out, body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void write(OutputStream out, byte[] body) throws IOException {
+        if (bytesPerSecond == 0) {
+            out.write(body);
+            return;
+        }
+        long start = System.nanoTime();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, body.length - offset);
+            // Hold each chunk back until it would have arrived at the target rate
+            long dueNanos = TimeUnit.SECONDS.toNanos(offset + length) / bytesPerSecond;
+            pause(TimeUnit.NANOSECONDS.toMillis(dueNanos - (System.nanoTime() - start)));
+            out.write(body, offset, length);
+            out.flush();
+        }
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream in = PracticePageServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            in.transferTo(buffer);
+            return buffer.toByteArray();
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final PracticePageServer INSTANCE = startShared();
+
+        private static PracticePageServer startShared() {
+            try {
+                PracticePageServer server = new PracticePageServer(SuiteConfig.serverPort(),
+                        SuiteConfig.serverLatencyMillis(), SuiteConfig.serverBandwidthKbps()).start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::close, "practice-page-server-shutdown"));
+                return server;
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start the local practice page server", e);
+            }
+        }
+    }
+}
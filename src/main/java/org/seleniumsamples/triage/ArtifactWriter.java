@@ -0,0 +1,65 @@
+package org.seleniumsamples.triage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Artifact Writer
+ * Compresses and writes failure artifacts on one background thread, so a failing
+ * test's worker moves on to the next test as soon as the browser has been read
+ */
+public final class ArtifactWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactWriter.class);
+    private static final ArtifactWriter SHARED = new ArtifactWriter();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "artifact-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public static ArtifactWriter shared() {
+        return SHARED;
+    }
+
+    public void submit(FailureArtifacts artifacts, Path target) {
+        pending.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                artifacts.writeZip(target);
+                logger.info("Failure artifacts of {} ({}) written to {}", artifacts.getTestName(),
+                        artifacts.getCategory().label(), target);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Could not write failure artifacts of {}: {}", artifacts.getTestName(), e.getMessage(), e);
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Waits until everything submitted so far is written
+     *
+     * @return false if writes were still pending when the timeout expired
+     */
+    public boolean awaitPending(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package org.seleniumsamples.triage;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Failure Artifacts
+ * Screenshot, DOM and browser console of a failed test, plus the failure itself.
+ * Collecting only reads from the browser; encoding and compressing happen later in
+ * {@link #writeZip}, off the test thread. Whatever the browser cannot provide (for
+ * example after the session died) is noted instead of failing the capture.
+ */
+public final class FailureArtifacts {
+
+    private final String testName;
+    private final Throwable failure;
+    private final FailureClassifier.Category category;
+    private final Instant capturedAt = Instant.now();
+    private String url;
+    private byte[] screenshot;
+    private String pageSource;
+    private List<LogEntry> console;
+    private final List<String> problems = new ArrayList<>();
+
+    private FailureArtifacts(String testName, Throwable failure) {
+        this.testName = testName;
+        this.failure = failure;
+        this.category = FailureClassifier.classify(failure);
+    }
+
+    /**
+     * Reads the artifacts from the browser; driver may be null when the test had none
+     */
+    public static FailureArtifacts collect(String testName, Throwable failure, WebDriver driver) {
+        FailureArtifacts artifacts = new FailureArtifacts(testName, failure);
+        if (driver == null) {
+            artifacts.problems.add("no browser session");
+            return artifacts;
+        }
+        try {
+            artifacts.url = driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            artifacts.problems.add("url: " + firstLine(e));
+        }
+        if (driver instanceof TakesScreenshot) {
+            try {
+                artifacts.screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            } catch (WebDriverException e) {
+                artifacts.problems.add("screenshot: " + firstLine(e));
+            }
+        }
+        try {
+            artifacts.pageSource = driver.getPageSource();
+        } catch (WebDriverException e) {
+            artifacts.problems.add("page source: " + firstLine(e));
+        }
+        try {
+            // Needs the goog:loggingPrefs capability set by DriverFactory
+            artifacts.console = driver.manage().logs().get(LogType.BROWSER).getAll();
+        } catch (WebDriverException e) {
+            artifacts.problems.add("console: " + firstLine(e));
+        }
+        return artifacts;
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public FailureClassifier.Category getCategory() {
+        return category;
+    }
+
+    /**
+     * Writes failure.txt, screenshot.png, page.html and console.log into one zip,
+     * replacing the target atomically
+     */
+    public void writeZip(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(temp))) {
+            entry(zip, "failure.txt", describe().getBytes(StandardCharsets.UTF_8));
+            if (screenshot != null) {
+                entry(zip, "screenshot.png", screenshot);
+            }
+            if (pageSource != null) {
+                entry(zip, "page.html", pageSource.getBytes(StandardCharsets.UTF_8));
+            }
+            if (console != null) {
+                StringBuilder log = new StringBuilder();
+                for (LogEntry line : console) {
+                    log.append(Instant.ofEpochMilli(line.getTimestamp())).append(' ')
+                            .append(line.getLevel()).append(' ').append(line.getMessage()).append('\n');
+                }
+                entry(zip, "console.log", log.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private String describe() {
+        StringWriter text = new StringWriter();
+        try (PrintWriter writer = new PrintWriter(text)) {
+            writer.println("test: " + testName);
+            writer.println("category: " + category.label());
+            writer.println("captured: " + capturedAt);
+            writer.println("url: " + (url == null ? "unknown" : url));
+            for (String problem : problems) {
+                writer.println("not captured: " + problem);
+            }
+            writer.println();
+            if (failure != null) {
+                failure.printStackTrace(writer);
+            }
+        }
+        return text.toString();
+    }
+
+    private static void entry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static String firstLine(Exception e) {
+        String message = e.getMessage();
+        return message == null ? e.getClass().getSimpleName() : message.split("\\R", 2)[0];
+    }
+}
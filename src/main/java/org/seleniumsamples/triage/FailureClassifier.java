@@ -0,0 +1,87 @@
+package org.seleniumsamples.triage;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.util.Locale;
+
+/**
+ * Failure Classifier
+ * Sorts test failures by exception type into the transient WebDriver failures that
+ * are worth retrying and everything else, which a retry would only repeat
+ */
+public final class FailureClassifier {
+
+    // Messages chromedriver uses when the browser behind a session has gone away
+    private static final String[] LOST_BROWSER_MESSAGES = {"chrome not reachable", "disconnected:", "session deleted"};
+
+    /**
+     * Failure category
+     */
+    public enum Category {
+        STALE_ELEMENT(true),
+        TIMEOUT(true),
+        SESSION_LOST(true),
+        ASSERTION(false),
+        OTHER(false);
+
+        private final boolean transientFailure;
+
+        Category(boolean transientFailure) {
+            this.transientFailure = transientFailure;
+        }
+
+        public boolean isTransient() {
+            return transientFailure;
+        }
+
+        /**
+         * Lower case name for logs, metrics and artifact names
+         */
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private FailureClassifier() {
+    }
+
+    /**
+     * Category of the first recognised exception in the cause chain
+     */
+    public static Category classify(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof AssertionError) {
+                return Category.ASSERTION;
+            }
+            if (t instanceof StaleElementReferenceException) {
+                return Category.STALE_ELEMENT;
+            }
+            if (t instanceof TimeoutException || t instanceof ScriptTimeoutException) {
+                return Category.TIMEOUT;
+            }
+            if (t instanceof NoSuchSessionException || t instanceof UnreachableBrowserException
+                    || (t instanceof WebDriverException && isLostBrowser(t.getMessage()))) {
+                return Category.SESSION_LOST;
+            }
+        }
+        return Category.OTHER;
+    }
+
+    private static boolean isLostBrowser(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        for (String lost : LOST_BROWSER_MESSAGES) {
+            if (lower.contains(lost)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package org.seleniumsamples.triage;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.driver.DriverContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Transient Failure Retry
+ * Retries a test only when it failed for a transient WebDriver reason (stale element,
+ * timeout, lost session), up to retry.max times. Assertion failures and unknown errors
+ * fail at once. A test whose session was lost gets a fresh browser for the retry.
+ */
+public class TransientFailureRetry implements IRetryAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransientFailureRetry.class);
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        FailureClassifier.Category category = FailureClassifier.classify(result.getThrowable());
+        String test = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        if (!category.isTransient()) {
+            logger.info("{} failed with {} ({}), not retrying", test, category.label(), describe(result));
+            return false;
+        }
+        if (attempts >= SuiteConfig.retryMaxAttempts()) {
+            logger.info("{} failed with {} again after {} retries, giving up", test, category.label(), attempts);
+            return false;
+        }
+        attempts++;
+        if (category == FailureClassifier.Category.SESSION_LOST) {
+            // The dead session is evicted by the pool's health check on release
+            DriverContext.discardCurrentDriver();
+        }
+        logger.warn("{} failed with {} ({}), retry {} of {}", test, category.label(), describe(result), attempts,
+                SuiteConfig.retryMaxAttempts());
+        return true;
+    }
+
+    private static String describe(ITestResult result) {
+        Throwable failure = result.getThrowable();
+        if (failure == null) {
+            return "no exception";
+        }
+        String message = failure.getMessage();
+        // WebDriver messages carry several lines of build and system info
+        String firstLine = message == null ? "" : message.split("\\R", 2)[0];
+        return failure.getClass().getSimpleName() + ": " + firstLine;
+    }
+}
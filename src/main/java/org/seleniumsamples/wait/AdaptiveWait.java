@@ -0,0 +1,90 @@
+package org.seleniumsamples.wait;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.seleniumsamples.config.SuiteConfig;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Adaptive Wait
+ * Polls a condition, starting with a very short interval and backing off
+ * exponentially, so fast conditions return almost immediately while slow ones
+ * do not flood the driver with commands. Same contract as WebDriverWait: the
+ * condition holds once it returns something other than null or false.
+ */
+public final class AdaptiveWait {
+
+    private static final Duration INITIAL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration MAX_INTERVAL = Duration.ofMillis(250);
+    private static final double BACKOFF_FACTOR = 1.6;
+
+    private final WebDriver driver;
+    private Duration timeout = SuiteConfig.waitTimeout();
+    private String message;
+
+    private AdaptiveWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static AdaptiveWait on(WebDriver driver) {
+        return new AdaptiveWait(driver);
+    }
+
+    public AdaptiveWait withTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public AdaptiveWait withMessage(String message) {
+        this.message = message;
+        return this;
+    }
+
+    /**
+     * Evaluates the condition until it holds, returning its value
+     *
+     * @throws TimeoutException if the condition does not hold within the timeout
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long intervalNanos = INITIAL_INTERVAL.toNanos();
+        RuntimeException lastIgnored = null;
+        int attempts = 0;
+
+        while (true) {
+            attempts++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                // The page is still changing, try again on the next poll
+                lastIgnored = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                String description = message != null ? message : condition.toString();
+                throw new TimeoutException(String.format("Condition not met after %dms (%d attempts): %s",
+                        timeout.toMillis(), attempts, description), lastIgnored);
+            }
+            sleep(Math.min(intervalNanos, remaining));
+            intervalNanos = Math.min((long) (intervalNanos * BACKOFF_FACTOR), MAX_INTERVAL.toNanos());
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", e);
+        }
+    }
+}
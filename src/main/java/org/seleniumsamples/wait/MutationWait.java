@@ -0,0 +1,75 @@
+package org.seleniumsamples.wait;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.seleniumsamples.config.SuiteConfig;
+
+import java.time.Duration;
+
+/**
+ * Mutation Wait
+ * Event driven wait: installs a MutationObserver in the page and resolves the
+ * moment a DOM change makes the condition true, using a single asynchronous
+ * script call instead of repeated polling round trips
+ */
+public final class MutationWait {
+
+    // arguments: predicate body, timeout ms, predicate args..., callback
+    private static final String OBSERVE_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+            + "var timeoutMs = arguments[1];"
+            + "var args = Array.prototype.slice.call(arguments, 2, arguments.length - 1);"
+            + "var predicate = new Function(arguments[0]);"
+            + "var check = function () { try { return predicate.apply(null, args); } catch (e) { return false; } };"
+            + "if (check()) { done(true); return; }"
+            + "var timer;"
+            + "var observer = new MutationObserver(function () {"
+            + "  if (check()) { observer.disconnect(); clearTimeout(timer); done(true); }"
+            + "});"
+            + "observer.observe(document.documentElement,"
+            + "  { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "timer = setTimeout(function () { observer.disconnect(); done(check()); }, timeoutMs);";
+
+    private static final String COUNT_AT_LEAST =
+            "return document.querySelectorAll(arguments[0]).length >= arguments[1];";
+
+    private MutationWait() {
+    }
+
+    /**
+     * Waits until at least {@code minCount} elements match the CSS selector
+     */
+    public static void untilElementCount(WebDriver driver, String cssSelector, int minCount) {
+        until(driver, SuiteConfig.waitTimeout(), COUNT_AT_LEAST,
+                String.format("at least %d element(s) matching '%s'", minCount, cssSelector),
+                cssSelector, minCount);
+    }
+
+    /**
+     * Waits until the JavaScript predicate returns true. The predicate is a function
+     * body that receives {@code args} as arguments[0..n] and is re-evaluated on every
+     * DOM mutation. Keep the timeout below the session script timeout (30s by default).
+     *
+     * @throws TimeoutException if the predicate is still false when the timeout expires
+     */
+    public static void until(WebDriver driver, Duration timeout, String predicateBody,
+                             String description, Object... args) {
+        Object[] scriptArgs = new Object[args.length + 2];
+        scriptArgs[0] = predicateBody;
+        scriptArgs[1] = timeout.toMillis();
+        System.arraycopy(args, 0, scriptArgs, 2, args.length);
+
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVE_SCRIPT, scriptArgs);
+        } catch (ScriptTimeoutException e) {
+            throw new TimeoutException("Script timed out waiting for " + description, e);
+        }
+        if (!Boolean.TRUE.equals(result)) {
+            throw new TimeoutException(String.format("Condition not met after %dms: %s",
+                    timeout.toMillis(), description));
+        }
+    }
+}
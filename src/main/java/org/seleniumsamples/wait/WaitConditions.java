@@ -0,0 +1,64 @@
+package org.seleniumsamples.wait;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.seleniumsamples.element.ElementSnapshot;
+import org.seleniumsamples.element.ElementSnapshots;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Wait Conditions
+ * Reusable conditions for {@link AdaptiveWait}
+ */
+public final class WaitConditions {
+
+    private WaitConditions() {
+    }
+
+    /**
+     * Suggestion list has at least one visible entry; returns the entries. Each evaluation
+     * first blocks on a {@link MutationWait} until an entry is in the DOM, then reads all
+     * entries in one round trip
+     */
+    public static Function<WebDriver, List<ElementSnapshot>> suggestionListPopulated(String cssSelector) {
+        return describe("suggestion list populated: " + cssSelector, driver -> {
+            MutationWait.untilElementCount(driver, cssSelector, 1);
+            List<ElementSnapshot> items = ElementSnapshots.capture(driver, cssSelector);
+            return !items.isEmpty() && items.get(0).isDisplayed() ? items : null;
+        });
+    }
+
+    /**
+     * Selected state of every radio button, checkbox or option differs from its snapshot in
+     * {@code before}; returns fresh snapshots with the given attributes, read in one round trip per poll
+     */
+    public static Function<WebDriver, List<ElementSnapshot>> elementStateToggled(List<WebElement> elements,
+                                                                                List<ElementSnapshot> before,
+                                                                                String... attributes) {
+        return describe("element selected state toggled for " + elements.size() + " element(s)", driver -> {
+            List<ElementSnapshot> current = ElementSnapshots.capture(driver, elements, attributes);
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i).isSelected() == before.get(i).isSelected()) {
+                    return null;
+                }
+            }
+            return current;
+        });
+    }
+
+    private static <T> Function<WebDriver, T> describe(String description, Function<WebDriver, T> condition) {
+        return new Function<WebDriver, T>() {
+            @Override
+            public T apply(WebDriver driver) {
+                return condition.apply(driver);
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
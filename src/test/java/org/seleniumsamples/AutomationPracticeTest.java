@@ -1,38 +1,44 @@
 package org.seleniumsamples;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.driver.DriverContext;
+import org.seleniumsamples.driver.DriverPool;
+import org.seleniumsamples.driver.WindowManager;
+import org.seleniumsamples.element.ElementSnapshot;
+import org.seleniumsamples.element.ElementSnapshots;
+import org.seleniumsamples.metrics.SuiteMetrics;
+import org.seleniumsamples.page.PageCheckpoints;
+import org.seleniumsamples.page.PracticePage;
+import org.seleniumsamples.wait.AdaptiveWait;
+import org.seleniumsamples.wait.WaitConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
-import java.time.Duration;
 import java.util.List;
 
 /**
  * Automation Practice Test Class with TestNG
  * This class demonstrates accessing first 5-6 elements from Rahul Shetty Academy Practice Page
- * using proper TestNG test methods with setup and teardown
+ * using proper TestNG test methods with setup and teardown.
+ * Each worker thread owns its browser and every test starts from the page as first loaded
+ * (restored from a checkpoint), so the class is safe to run with parallel="methods" or
+ * parallel="classes".
  */
 public class AutomationPracticeTest {
     
     private static final Logger logger = LoggerFactory.getLogger(AutomationPracticeTest.class);
-    private static final String BASE_URL = "https://rahulshettyacademy.com/AutomationPractice/";
-    private WebDriver driver;
-    private WebDriverWait wait;
+    private static final String BASE_URL = SuiteConfig.baseUrl();
+    private final DriverContext drivers = new DriverContext(DriverPool.shared());
 
     @BeforeClass
     public void setupClass() {
         logger.info("=== Starting Test Suite Setup ===");
-        setupDriver();
-        navigateToPage();
+        logger.info("Browsers are leased per worker thread from a pool of {}", DriverPool.shared().getMaxSize());
         logger.info("=== Test Suite Setup Completed ===");
     }
 
@@ -46,6 +52,8 @@ public class AutomationPracticeTest {
     @BeforeMethod
     public void beforeEachTest() {
         logger.info("--- Starting individual test method ---");
+        setupDriver();
+        navigateToPage();
     }
 
     @AfterMethod
@@ -54,87 +62,97 @@ public class AutomationPracticeTest {
     }
 
     private void setupDriver() {
-        logger.info("Setting up WebDriver...");
-        
-        // Setup ChromeDriver using WebDriverManager
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--start-maximized");
-        
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        
-        logger.info("WebDriver setup completed successfully");
+        // Reuse a warm browser session instead of launching a new one per class;
+        // the lease is made once per worker thread and kept until the class ends
+        drivers.get();
+    }
+
+    private WebDriver driver() {
+        return drivers.get();
+    }
+
+    private PracticePage page() {
+        return PracticePage.of(drivers.get());
     }
 
     private void navigateToPage() {
+        WebDriver driver = driver();
+        long start = System.nanoTime();
+        // Undoing the previous test's changes is much cheaper than loading the page again
+        if (PageCheckpoints.restore(driver, BASE_URL)) {
+            SuiteMetrics.NAVIGATION.labels("checkpoint").recordNanos(System.nanoTime() - start);
+            logger.info("Restored practice page checkpoint instead of reloading");
+            return;
+        }
+        
         logger.info("Navigating to practice page: {}", BASE_URL);
-        driver.get(BASE_URL);
-        String pageTitle = driver.getTitle();
+        String pageTitle = page().open(BASE_URL).getTitle();
         logger.info("Successfully navigated to practice page");
         logger.info("Page title: {}", pageTitle);
         
         // Assert page is loaded correctly
         Assert.assertTrue(pageTitle.contains("Practice"), "Page title should contain 'Practice'");
+        PageCheckpoints.save(driver, BASE_URL);
+        SuiteMetrics.NAVIGATION.labels("load").recordNanos(System.nanoTime() - start);
     }
 
     @Test(priority = 1, description = "Test Radio Button functionality")
     public void testRadioButtons() {
         logger.info("=== TEST: Radio Button Elements ===");
+        WebDriver driver = driver();
         
         logger.info("Before: Accessing Radio Button elements...");
-        List<WebElement> radioButtons = driver.findElements(By.name("radioButton"));
+        List<WebElement> radioButtons = page().radioButtons();
         logger.info("Before: Found {} radio buttons", radioButtons.size());
         
         Assert.assertTrue(radioButtons.size() > 0, "Radio buttons should be present on the page");
         
-        for (int i = 0; i < radioButtons.size(); i++) {
-            WebElement radioButton = radioButtons.get(i);
-            String value = radioButton.getAttribute("value");
-            boolean isSelected = radioButton.isSelected();
+        // One round trip for the state of every radio button
+        List<ElementSnapshot> before = ElementSnapshots.capture(driver, radioButtons, "value");
+        for (ElementSnapshot radioButton : before) {
             logger.info("Before: Radio button {}: value = {}, selected = {}", 
-                       i + 1, value, isSelected);
+                       radioButton.getIndex() + 1, radioButton.getAttribute("value"), radioButton.isSelected());
         }
         
         // Test clicking the first radio button
-        if (!radioButtons.isEmpty()) {
-            String firstRadioValue = radioButtons.get(0).getAttribute("value");
-            radioButtons.get(0).click();
-            
-            logger.info("After: Clicked on first radio button with value: {}", firstRadioValue);
-            Assert.assertTrue(radioButtons.get(0).isSelected(), 
-                            "First radio button should be selected after clicking");
-            logger.info("After: First radio button is now selected: {}", 
-                       radioButtons.get(0).isSelected());
+        String firstRadioValue = before.get(0).getAttribute("value");
+        radioButtons.get(0).click();
+        logger.info("After: Clicked on first radio button with value: {}", firstRadioValue);
+        
+        List<ElementSnapshot> after = ElementSnapshots.capture(driver, radioButtons, "value");
+        Assert.assertTrue(after.get(0).isSelected(), 
+                        "First radio button should be selected after clicking");
+        for (ElementSnapshot radioButton : after.subList(1, after.size())) {
+            Assert.assertFalse(radioButton.isSelected(), 
+                             String.format("Radio button %d should be deselected", radioButton.getIndex() + 1));
         }
+        logger.info("After: First radio button is now selected: {}", after.get(0).isSelected());
         
         logger.info("=== COMPLETED: Radio Button Test ===");
     }
 
     @Test(priority = 2, description = "Test Autocomplete field functionality")
-    public void testAutocompleteField() throws InterruptedException {
+    public void testAutocompleteField() {
         logger.info("=== TEST: Autocomplete Field ===");
+        WebDriver driver = driver();
         
         logger.info("Before: Accessing Autocomplete field...");
-        WebElement autocompleteField = driver.findElement(By.id("autocomplete"));
-        String placeholder = autocompleteField.getAttribute("placeholder");
-        String initialValue = autocompleteField.getAttribute("value");
+        WebElement autocompleteField = page().autocomplete();
+        ElementSnapshot field = ElementSnapshots.capture(driver, List.of(autocompleteField), 
+                                                         "placeholder", "value").get(0);
         
         logger.info("Before: Autocomplete field found - placeholder: {}, initial value: '{}'", 
-                   placeholder, initialValue);
+                   field.getAttribute("placeholder"), field.getAttribute("value"));
         
-        Assert.assertTrue(autocompleteField.isDisplayed(), "Autocomplete field should be visible");
-        Assert.assertTrue(autocompleteField.isEnabled(), "Autocomplete field should be enabled");
+        Assert.assertTrue(field.isDisplayed(), "Autocomplete field should be visible");
+        Assert.assertTrue(field.isEnabled(), "Autocomplete field should be enabled");
         
         // Test typing in autocomplete field
         String testInput = "India";
-        autocompleteField.sendKeys(testInput);
+        // Returns as soon as the suggestion list is rendered
+        List<ElementSnapshot> suggestions = page().typeForSuggestions(testInput);
         logger.info("After: Typed '{}' in autocomplete field", testInput);
-        
-        Thread.sleep(2000); // Wait for suggestions to appear
+        logger.info("After: Suggestion list populated with {} entries", suggestions.size());
         
         String currentValue = autocompleteField.getAttribute("value");
         Assert.assertEquals(currentValue, testInput, "Field should contain the typed text");
@@ -153,25 +171,26 @@ public class AutomationPracticeTest {
     @Test(priority = 3, description = "Test Dropdown selection functionality")
     public void testDropdownExample() {
         logger.info("=== TEST: Dropdown Selection ===");
+        WebDriver driver = driver();
         
         logger.info("Before: Accessing Dropdown element...");
-        WebElement dropdownElement = driver.findElement(By.id("dropdown-class-example"));
-        Select dropdown = new Select(dropdownElement);
+        Select dropdown = page().dropdown();
         
-        int optionsCount = dropdown.getOptions().size();
+        // Options are looked up once per page load; all of their state is read in one round trip
+        List<WebElement> options = page().dropdownOptions();
+        List<ElementSnapshot> optionsBefore = ElementSnapshots.capture(driver, options);
+        int optionsCount = optionsBefore.size();
         logger.info("Before: Dropdown found with {} options", optionsCount);
         
         Assert.assertTrue(optionsCount > 0, "Dropdown should have options");
         
         // Log all available options
-        for (int i = 0; i < dropdown.getOptions().size(); i++) {
-            WebElement option = dropdown.getOptions().get(i);
-            logger.info("Before: Dropdown option {}: '{}'", i, option.getText());
+        for (ElementSnapshot option : optionsBefore) {
+            logger.info("Before: Dropdown option {}: '{}'", option.getIndex(), option.getText());
         }
         
         // Get initial selection
-        WebElement initialSelection = dropdown.getFirstSelectedOption();
-        String initialText = initialSelection.getText();
+        String initialText = firstSelected(optionsBefore).getText();
         logger.info("Before: Initially selected option: '{}'", initialText);
         
         // Select a different option
@@ -180,8 +199,7 @@ public class AutomationPracticeTest {
         logger.info("After: Selected '{}' from dropdown", optionToSelect);
         
         // Verify selection
-        WebElement selectedOption = dropdown.getFirstSelectedOption();
-        String selectedText = selectedOption.getText();
+        String selectedText = firstSelected(ElementSnapshots.capture(driver, options)).getText();
         logger.info("After: Currently selected option: '{}'", selectedText);
         
         Assert.assertEquals(selectedText, optionToSelect, 
@@ -193,38 +211,46 @@ public class AutomationPracticeTest {
     @Test(priority = 4, description = "Test Checkbox functionality")
     public void testCheckboxExample() {
         logger.info("=== TEST: Checkbox Elements ===");
+        WebDriver driver = driver();
         
         logger.info("Before: Accessing Checkbox elements...");
-        List<WebElement> checkboxes = driver.findElements(By.xpath("//input[@type='checkbox']"));
+        List<WebElement> checkboxes = page().checkboxes();
         int checkboxCount = checkboxes.size();
         logger.info("Before: Found {} checkboxes", checkboxCount);
         
         Assert.assertTrue(checkboxCount > 0, "Checkboxes should be present on the page");
         
         // Test first 3 checkboxes
-        int testCount = Math.min(3, checkboxCount);
-        for (int i = 0; i < testCount; i++) {
-            WebElement checkbox = checkboxes.get(i);
-            String name = checkbox.getAttribute("name");
-            String value = checkbox.getAttribute("value");
-            boolean initialState = checkbox.isSelected();
-            
+        List<WebElement> tested = checkboxes.subList(0, Math.min(3, checkboxCount));
+        List<ElementSnapshot> before = ElementSnapshots.capture(driver, tested, "name", "value");
+        for (ElementSnapshot checkbox : before) {
+            int number = checkbox.getIndex() + 1;
             logger.info("Before: Checkbox {}: name = '{}', value = '{}', selected = {}", 
-                       i + 1, name, value, initialState);
+                       number, checkbox.getAttribute("name"), checkbox.getAttribute("value"), checkbox.isSelected());
             
             Assert.assertTrue(checkbox.isDisplayed(), 
-                            String.format("Checkbox %d should be visible", i + 1));
+                            String.format("Checkbox %d should be visible", number));
             Assert.assertTrue(checkbox.isEnabled(), 
-                            String.format("Checkbox %d should be enabled", i + 1));
-            
-            // Toggle checkbox state
+                            String.format("Checkbox %d should be enabled", number));
+        }
+        
+        // Toggle checkbox states
+        for (WebElement checkbox : tested) {
             checkbox.click();
-            boolean newState = checkbox.isSelected();
-            logger.info("After: Toggled checkbox {} - now selected: {}", i + 1, newState);
+        }
+        
+        // Re-read all states in one call per poll until every checkbox has flipped
+        List<ElementSnapshot> after = AdaptiveWait.on(driver)
+                .withMessage("Checkbox states should have changed after click")
+                .until(WaitConditions.elementStateToggled(tested, before, "name", "value"));
+        
+        for (ElementSnapshot checkbox : after) {
+            int number = checkbox.getIndex() + 1;
+            logger.info("After: Toggled checkbox {} - now selected: {}", number, checkbox.isSelected());
             
             // Verify the state changed
-            Assert.assertNotEquals(initialState, newState, 
-                                 String.format("Checkbox %d state should have changed after click", i + 1));
+            Assert.assertNotEquals(before.get(checkbox.getIndex()).isSelected(), checkbox.isSelected(), 
+                                 String.format("Checkbox %d state should have changed after click", number));
         }
         
         logger.info("=== COMPLETED: Checkbox Elements Test ===");
@@ -233,14 +259,16 @@ public class AutomationPracticeTest {
     @Test(priority = 5, description = "Test Switch Window button properties")
     public void testSwitchWindowExample() {
         logger.info("=== TEST: Switch Window Button ===");
+        WebDriver driver = driver();
         
         logger.info("Before: Accessing Switch Window button...");
-        WebElement openWindowButton = driver.findElement(By.id("openwindow"));
+        WebElement openWindowButton = page().openWindowButton();
         
-        String buttonText = openWindowButton.getText();
-        boolean isEnabled = openWindowButton.isEnabled();
-        boolean isDisplayed = openWindowButton.isDisplayed();
-        String buttonClass = openWindowButton.getAttribute("class");
+        ElementSnapshot button = ElementSnapshots.capture(driver, List.of(openWindowButton), "class").get(0);
+        String buttonText = button.getText();
+        boolean isEnabled = button.isEnabled();
+        boolean isDisplayed = button.isDisplayed();
+        String buttonClass = button.getAttribute("class");
         
         logger.info("Before: Switch Window button found:");
         logger.info("Before: - Text: '{}'", buttonText);
@@ -253,13 +281,21 @@ public class AutomationPracticeTest {
         Assert.assertTrue(isEnabled, "Switch Window button should be enabled");
         Assert.assertFalse(buttonText.isEmpty(), "Switch Window button should have text");
         
-        // Get current window handle count before potential click
         int initialWindowCount = driver.getWindowHandles().size();
         logger.info("Before: Current number of browser windows: {}", initialWindowCount);
         
-        // Note: Not clicking to avoid complications with new windows in this demo
-        logger.info("After: Switch Window button accessed and validated successfully");
-        logger.info("After: (Button not clicked to avoid new window management in demo)");
+        // The new window is detected by diffing handles, and closed again even if an assertion fails
+        try (WindowManager.ChildWindow window = WindowManager.open(driver, openWindowButton)) {
+            String title = window.waitUntilLoaded();
+            logger.info("After: New window opened in {} ms - title: '{}'", window.getOpenMillis(), title);
+            Assert.assertEquals(driver.getWindowHandle(), window.getHandle(), "Driver should be on the new window");
+            Assert.assertTrue(title.contains("QAClick Academy"), "New window should show the QAClick Academy page");
+        }
+        
+        Assert.assertEquals(driver.getWindowHandles().size(), initialWindowCount,
+                          "New window should be closed after the test");
+        Assert.assertTrue(page().openWindowButton().isDisplayed(), "Driver should be back on the practice page");
+        logger.info("After: New window closed, back on the practice page");
         
         logger.info("=== COMPLETED: Switch Window Button Test ===");
     }
@@ -267,14 +303,16 @@ public class AutomationPracticeTest {
     @Test(priority = 6, description = "Test Switch Tab button properties")
     public void testSwitchTabExample() {
         logger.info("=== TEST: Switch Tab Button ===");
+        WebDriver driver = driver();
         
         logger.info("Before: Accessing Switch Tab button...");
-        WebElement openTabButton = driver.findElement(By.id("opentab"));
+        WebElement openTabButton = page().openTabButton();
         
-        String buttonText = openTabButton.getText();
-        boolean isEnabled = openTabButton.isEnabled();
-        boolean isDisplayed = openTabButton.isDisplayed();
-        String buttonClass = openTabButton.getAttribute("class");
+        ElementSnapshot button = ElementSnapshots.capture(driver, List.of(openTabButton), "class").get(0);
+        String buttonText = button.getText();
+        boolean isEnabled = button.isEnabled();
+        boolean isDisplayed = button.isDisplayed();
+        String buttonClass = button.getAttribute("class");
         
         logger.info("Before: Switch Tab button found:");
         logger.info("Before: - Text: '{}'", buttonText);
@@ -287,22 +325,37 @@ public class AutomationPracticeTest {
         Assert.assertTrue(isEnabled, "Switch Tab button should be enabled");
         Assert.assertFalse(buttonText.isEmpty(), "Switch Tab button should have text");
         
-        // Get current window handle count before potential click
         int initialTabCount = driver.getWindowHandles().size();
         logger.info("Before: Current number of browser tabs: {}", initialTabCount);
         
-        // Note: Not clicking to avoid complications with new tabs in this demo
-        logger.info("After: Switch Tab button accessed and validated successfully");
-        logger.info("After: (Button not clicked to avoid new tab management in demo)");
+        try (WindowManager.ChildWindow tab = WindowManager.open(driver, openTabButton)) {
+            String title = tab.waitUntilLoaded();
+            logger.info("After: New tab opened in {} ms - title: '{}'", tab.getOpenMillis(), title);
+            Assert.assertEquals(driver.getWindowHandle(), tab.getHandle(), "Driver should be on the new tab");
+            Assert.assertTrue(title.contains("QAClick Academy"), "New tab should show the QAClick Academy page");
+        }
+        
+        Assert.assertEquals(driver.getWindowHandles().size(), initialTabCount,
+                          "New tab should be closed after the test");
+        Assert.assertTrue(page().openTabButton().isDisplayed(), "Driver should be back on the practice page");
+        logger.info("After: New tab closed, back on the practice page");
         
         logger.info("=== COMPLETED: Switch Tab Button Test ===");
     }
 
+    private static ElementSnapshot firstSelected(List<ElementSnapshot> options) {
+        return options.stream()
+                .filter(ElementSnapshot::isSelected)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Dropdown should have a selected option"));
+    }
+
     private void tearDown() {
-        if (driver != null) {
-            logger.info("Closing browser and cleaning up...");
-            driver.quit();
-            logger.info("Browser closed successfully");
-        }
+        logger.info("Page setups: {}", PageCheckpoints.summary());
+        logger.info("Element lookups: {}", PracticePage.summary());
+        logger.info("Windows: {}", WindowManager.summary());
+        logger.info("Returning browsers to the pool...");
+        drivers.releaseAll();
+        logger.info("Browsers returned successfully");
     }
 }
\ No newline at end of file
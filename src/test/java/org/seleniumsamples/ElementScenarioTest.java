@@ -0,0 +1,154 @@
+package org.seleniumsamples;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.driver.DriverContext;
+import org.seleniumsamples.driver.DriverPool;
+import org.seleniumsamples.element.ElementSnapshot;
+import org.seleniumsamples.element.ElementSnapshots;
+import org.seleniumsamples.page.PracticePage;
+import org.seleniumsamples.scenario.ElementScenario;
+import org.seleniumsamples.scenario.ScenarioSource;
+import org.seleniumsamples.scenario.ShardResultWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Element Scenario Test Class
+ * Data-driven variant of the element checks in AutomationPracticeTest: every row of the
+ * scenario matrix (scenario.file) is one test invocation. Rows are streamed from the file,
+ * split into shards with shard.index/shard.count and run by parallel data provider threads.
+ * Each shard writes its own result file; ScenarioResultMerger combines them.
+ */
+public class ElementScenarioTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElementScenarioTest.class);
+    private static final String BASE_URL = SuiteConfig.baseUrl();
+    private static final String ACTUAL = "actual";
+    private final DriverContext drivers = new DriverContext(DriverPool.shared());
+    private ShardResultWriter results;
+
+    @BeforeClass
+    public void openResults() throws IOException {
+        results = new ShardResultWriter(SuiteConfig.scenarioResultsDir(), SuiteConfig.shardIndex(), SuiteConfig.shardCount());
+        logger.info("Running shard {} of {} from {}", SuiteConfig.shardIndex(), SuiteConfig.shardCount(),
+                SuiteConfig.scenarioFile());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeResults() throws IOException {
+        drivers.releaseAll();
+        if (results != null) {
+            results.close();
+        }
+    }
+
+    @DataProvider(name = "elementScenarios", parallel = true)
+    public Iterator<Object[]> elementScenarios() {
+        Iterator<ElementScenario> scenarios = ScenarioSource.open(SuiteConfig.scenarioFile(),
+                SuiteConfig.shardIndex(), SuiteConfig.shardCount());
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return scenarios.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{scenarios.next()};
+            }
+        };
+    }
+
+    @Test(dataProvider = "elementScenarios", description = "Drive one practice page element from the scenario matrix")
+    public void testElementScenario(ElementScenario scenario) {
+        logger.info("=== SCENARIO: {} ({} '{}') ===", scenario.getId(), scenario.getKind(), scenario.getInput());
+        WebDriver driver = drivers.get();
+        PracticePage page = PracticePage.of(driver).open(BASE_URL);
+
+        String actual;
+        switch (scenario.getKind()) {
+            case RADIO:
+                actual = selectRadio(page, scenario.getInput());
+                break;
+            case DROPDOWN:
+                actual = selectOption(page, scenario.getInput());
+                break;
+            case AUTOCOMPLETE:
+                actual = findSuggestion(page, scenario.getInput(), scenario.getExpected());
+                break;
+            case CHECKBOX:
+                actual = toggleCheckbox(page, scenario.getInput());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported scenario kind " + scenario.getKind());
+        }
+        Reporter.getCurrentTestResult().setAttribute(ACTUAL, actual);
+        logger.info("Scenario {}: expected '{}', actual '{}'", scenario.getId(), scenario.getExpected(), actual);
+
+        Assert.assertEquals(actual, scenario.getExpected(), "Scenario " + scenario.getId());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void recordResult(ITestResult result) {
+        Object[] parameters = result.getParameters();
+        // A retried attempt is superseded by the retry's own result
+        if (parameters.length > 0 && parameters[0] instanceof ElementScenario && !result.wasRetried()) {
+            Throwable error = result.getThrowable();
+            results.record((ElementScenario) parameters[0], result.isSuccess(), (String) result.getAttribute(ACTUAL),
+                    result.getEndMillis() - result.getStartMillis(), error == null ? null : error.toString());
+        }
+        // Data provider threads outnumber pooled browsers, so each row hands its browser back
+        drivers.release();
+    }
+
+    private static String selectRadio(PracticePage page, String value) {
+        List<WebElement> radioButtons = page.radioButtons();
+        page.element(By.cssSelector("input[name='radioButton'][value='" + value + "']")).click();
+        return ElementSnapshots.capture(page.getDriver(), radioButtons, "value").stream()
+                .filter(ElementSnapshot::isSelected)
+                .map(radio -> radio.getAttribute("value"))
+                .findFirst()
+                .orElse("");
+    }
+
+    private static String selectOption(PracticePage page, String text) {
+        page.dropdown().selectByVisibleText(text);
+        return ElementSnapshots.capture(page.getDriver(), page.dropdownOptions()).stream()
+                .filter(ElementSnapshot::isSelected)
+                .map(ElementSnapshot::getText)
+                .findFirst()
+                .orElse("");
+    }
+
+    /**
+     * The expected suggestion if it is offered, otherwise every suggestion offered
+     */
+    private static String findSuggestion(PracticePage page, String input, String expected) {
+        List<String> suggestions = page.typeForSuggestions(input).stream()
+                .map(ElementSnapshot::getText)
+                .collect(Collectors.toList());
+        return suggestions.contains(expected) ? expected : String.join("|", suggestions);
+    }
+
+    private static String toggleCheckbox(PracticePage page, String value) {
+        WebElement checkbox = page.element(By.cssSelector("input[type='checkbox'][value='" + value + "']"));
+        checkbox.click();
+        return String.valueOf(ElementSnapshots.capture(page.getDriver(), List.of(checkbox)).get(0).isSelected());
+    }
+}
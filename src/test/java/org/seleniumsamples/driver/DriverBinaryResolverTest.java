@@ -0,0 +1,93 @@
+package org.seleniumsamples.driver;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Driver Binary Resolver Test Class
+ * Exercises the pinned path, shared cache and offline behaviour with fake binaries
+ */
+@Test(singleThreaded = true)
+public class DriverBinaryResolverTest {
+
+    private static final String KEY = "chromedriver.test";
+
+    private Path workDir;
+    private Path cacheDir;
+    private Path fakeDriver;
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private String previousDriverProperty;
+
+    @BeforeMethod
+    public void createWorkDir() throws IOException {
+        previousDriverProperty = System.getProperty("webdriver.chrome.driver");
+        workDir = Files.createTempDirectory("driver-resolver-test");
+        cacheDir = workDir.resolve("cache");
+        fakeDriver = Files.createFile(workDir.resolve("chromedriver"));
+        fakeDriver.toFile().setExecutable(true);
+        remoteCalls.set(0);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteWorkDir() throws IOException {
+        if (previousDriverProperty == null) {
+            System.clearProperty("webdriver.chrome.driver");
+        } else {
+            System.setProperty("webdriver.chrome.driver", previousDriverProperty);
+        }
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private Supplier<Path> remote() {
+        return () -> {
+            remoteCalls.incrementAndGet();
+            return fakeDriver;
+        };
+    }
+
+    @Test(description = "A pinned binary is used without consulting the cache or network")
+    public void testPinnedPathWins() {
+        DriverBinaryResolver resolver = new DriverBinaryResolver(fakeDriver, cacheDir, KEY, true, remote());
+
+        Assert.assertEquals(resolver.resolveChromeDriver(), fakeDriver);
+        Assert.assertEquals(System.getProperty("webdriver.chrome.driver"), fakeDriver.toString());
+        Assert.assertEquals(remoteCalls.get(), 0);
+    }
+
+    @Test(description = "The first resolution is cached for later JVMs")
+    public void testRemoteResultIsCachedAcrossResolvers() {
+        new DriverBinaryResolver(null, cacheDir, KEY, false, remote()).resolveChromeDriver();
+        Path second = new DriverBinaryResolver(null, cacheDir, KEY, true, remote()).resolveChromeDriver();
+
+        Assert.assertEquals(second, fakeDriver.toAbsolutePath());
+        Assert.assertEquals(remoteCalls.get(), 1, "Only the first resolver should go to the network");
+    }
+
+    @Test(description = "Offline mode fails fast when nothing is cached",
+            expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = ".*driver.offline.*")
+    public void testOfflineWithoutCacheFails() {
+        new DriverBinaryResolver(null, cacheDir, KEY, true, remote()).resolveChromeDriver();
+    }
+
+    @Test(description = "Invalidation forces the next resolution to go remote again")
+    public void testInvalidateDropsCacheEntry() {
+        DriverBinaryResolver resolver = new DriverBinaryResolver(null, cacheDir, KEY, false, remote());
+        resolver.resolveChromeDriver();
+        resolver.invalidate();
+        resolver.resolveChromeDriver();
+
+        Assert.assertEquals(remoteCalls.get(), 2);
+    }
+}
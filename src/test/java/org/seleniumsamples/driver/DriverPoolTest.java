@@ -0,0 +1,101 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Driver Pool Test Class
+ * Verifies leasing, reuse and eviction without launching a real browser
+ */
+@Test(singleThreaded = true)
+public class DriverPoolTest {
+
+    private final List<FakeWebDriver> created = new ArrayList<>();
+
+    private DriverPool newPool(int size, Duration leaseTimeout) {
+        created.clear();
+        return new DriverPool(size, leaseTimeout, () -> {
+            FakeWebDriver fake = new FakeWebDriver();
+            created.add(fake);
+            return fake.driver;
+        }, WebDriver::quit);
+    }
+
+    @Test(description = "Released sessions are reset and reused on the next lease")
+    public void testReleasedDriverIsReused() {
+        DriverPool pool = newPool(1, Duration.ofSeconds(1));
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        WebDriver second = pool.lease();
+
+        Assert.assertSame(second, first, "Second lease should reuse the warm session");
+        Assert.assertEquals(created.size(), 1, "Only one browser should have been launched");
+        Assert.assertTrue(created.get(0).calls.contains("deleteAllCookies"), "Cookies should be cleared on release");
+        Assert.assertTrue(created.get(0).calls.contains("get"), "Session should be navigated to a blank page");
+
+        PoolMetrics metrics = pool.metrics();
+        Assert.assertEquals(metrics.getMisses(), 1);
+        Assert.assertEquals(metrics.getHits(), 1);
+    }
+
+    @Test(description = "Unhealthy idle sessions are evicted and replaced")
+    public void testUnhealthyDriverIsEvicted() {
+        DriverPool pool = newPool(1, Duration.ofSeconds(1));
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        created.get(0).broken = true;
+
+        WebDriver second = pool.lease();
+
+        Assert.assertNotSame(second, first, "A broken session must not be handed out again");
+        Assert.assertTrue(created.get(0).quit, "Evicted session should be quit");
+        Assert.assertEquals(pool.metrics().getEvictions(), 1);
+    }
+
+    @Test(description = "A new session that fails before it is handed out is quit and frees its slot")
+    public void testFailedLaunchIsQuit() {
+        List<FakeWebDriver> launched = new ArrayList<>();
+        DriverPool pool = new DriverPool(1, Duration.ofMillis(50), () -> {
+            FakeWebDriver fake = new FakeWebDriver();
+            fake.broken = launched.isEmpty();
+            launched.add(fake);
+            return fake.driver;
+        }, WebDriver::quit);
+
+        Assert.expectThrows(NoSuchSessionException.class, pool::lease);
+        Assert.assertTrue(launched.get(0).quit, "The browser that failed should be quit");
+
+        Assert.assertNotNull(pool.lease(), "The permit should have been given back");
+        Assert.assertEquals(launched.size(), 2);
+    }
+
+    @Test(description = "Leasing beyond the pool size times out",
+            expectedExceptions = IllegalStateException.class)
+    public void testLeaseBeyondCapacityTimesOut() {
+        DriverPool pool = newPool(1, Duration.ofMillis(50));
+
+        pool.lease();
+        pool.lease();
+    }
+
+    @Test(description = "Shutdown quits idle and leased sessions")
+    public void testShutdownQuitsAllSessions() {
+        DriverPool pool = newPool(2, Duration.ofSeconds(1));
+
+        WebDriver leased = pool.lease();
+        pool.release(pool.lease());
+        pool.shutdown();
+
+        Assert.assertEquals(created.size(), 2);
+        Assert.assertTrue(created.get(0).quit && created.get(1).quit, "All sessions should be quit");
+        Assert.assertNotNull(leased);
+    }
+}
@@ -0,0 +1,80 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fake WebDriver
+ * Browser-less stand-in that records the calls the driver pool makes and keeps
+ * a set of window handles that can be switched between and closed
+ */
+final class FakeWebDriver {
+
+    final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    final WebDriver driver;
+    final Set<String> windows = Collections.synchronizedSet(new LinkedHashSet<>(Collections.singletonList("main")));
+    volatile String currentWindow = "main";
+    volatile boolean broken;
+    volatile boolean quit;
+
+    FakeWebDriver() {
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    calls.add(name);
+                    if (broken && name.startsWith("get")) {
+                        throw new NoSuchSessionException("fake session lost");
+                    }
+                    switch (name) {
+                        case "getWindowHandle":
+                            return currentWindow;
+                        case "getWindowHandles":
+                            synchronized (windows) {
+                                return new LinkedHashSet<>(windows);
+                            }
+                        case "getCurrentUrl":
+                            return "http://fake/" + currentWindow;
+                        case "getTitle":
+                            return "Title of " + currentWindow;
+                        case "close":
+                            windows.remove(currentWindow);
+                            return null;
+                        case "switchTo":
+                        case "manage":
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class<?>[]{method.getReturnType()},
+                                    (inner, innerMethod, innerArgs) -> {
+                                        calls.add(innerMethod.getName());
+                                        if ("window".equals(innerMethod.getName())) {
+                                            if (!windows.contains((String) innerArgs[0])) {
+                                                throw new NoSuchWindowException("no window " + innerArgs[0]);
+                                            }
+                                            currentWindow = (String) innerArgs[0];
+                                        }
+                                        return null;
+                                    });
+                        case "quit":
+                            quit = true;
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakeWebDriver@" + System.identityHashCode(proxy);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,70 @@
+package org.seleniumsamples.driver;
+
+import org.openqa.selenium.TimeoutException;
+import org.seleniumsamples.driver.WindowManager.ChildWindow;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Window Manager Test Class
+ * Opens and closes windows of a browser-less session
+ */
+public class WindowManagerTest {
+
+    @Test(description = "The new handle is found by diffing, switched to and closed again")
+    public void testOpensAndClosesChildWindow() {
+        FakeWebDriver fake = new FakeWebDriver();
+        // The window shows up a little after the click, as in a real browser
+        Runnable click = () -> CompletableFuture.runAsync(() -> fake.windows.add("popup"),
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        try (ChildWindow window = WindowManager.open(fake.driver, click)) {
+            Assert.assertEquals(window.getHandle(), "popup");
+            Assert.assertEquals(window.getParentHandle(), "main");
+            Assert.assertEquals(fake.currentWindow, "popup", "The session should be on the new window");
+            Assert.assertEquals(window.waitUntilLoaded(), "Title of popup");
+        }
+
+        Assert.assertEquals(fake.windows, Collections.singleton("main"));
+        Assert.assertEquals(fake.currentWindow, "main", "The session should be back on the parent");
+    }
+
+    @Test(description = "Windows opened alongside the child are closed with it, older ones are kept")
+    public void testClosesStrayWindows() {
+        FakeWebDriver fake = new FakeWebDriver();
+        fake.windows.add("earlier");
+
+        ChildWindow window = WindowManager.open(fake.driver, () -> fake.windows.addAll(Arrays.asList("tab", "ad")));
+        window.close();
+        window.close();
+
+        Assert.assertEquals(fake.windows, new LinkedHashSet<>(Arrays.asList("main", "earlier")));
+        Assert.assertEquals(fake.currentWindow, "main");
+    }
+
+    @Test(description = "A click that opens nothing times out on the parent window")
+    public void testTimesOutWithoutNewWindow() {
+        FakeWebDriver fake = new FakeWebDriver();
+        Assert.assertThrows(TimeoutException.class,
+                () -> WindowManager.open(fake.driver, () -> { }, Duration.ofMillis(200)));
+        Assert.assertEquals(fake.currentWindow, "main");
+    }
+
+    @Test(description = "Everything but the kept window is closed")
+    public void testCloseAllExcept() {
+        FakeWebDriver fake = new FakeWebDriver();
+        fake.windows.addAll(Arrays.asList("a", "b"));
+        fake.currentWindow = "b";
+
+        Assert.assertEquals(WindowManager.closeAllExcept(fake.driver, "main"), 2);
+        Assert.assertEquals(fake.windows, Collections.singleton("main"));
+        Assert.assertEquals(fake.currentWindow, "main");
+    }
+}
@@ -0,0 +1,76 @@
+package org.seleniumsamples.grid;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grid Scheduler Test Class
+ * Checks slot placement and queueing without starting a Grid
+ */
+public class GridSchedulerTest {
+
+    private static final String STATUS = "{\"value\": {\"ready\": true, \"nodes\": ["
+            + "{\"availability\": \"UP\", \"slots\": ["
+            + "{\"stereotype\": {\"browserName\": \"chrome\"}}, {\"stereotype\": {\"browserName\": \"chrome\"}},"
+            + "{\"stereotype\": {\"browserName\": \"firefox\"}}]},"
+            + "{\"availability\": \"DOWN\", \"slots\": [{\"stereotype\": {\"browserName\": \"chrome\"}}]}]}}";
+
+    @Test(description = "Sessions are spread over nodes and refused once every slot is busy")
+    public void testSpreadsSessionsAcrossNodes() throws MalformedURLException {
+        GridScheduler scheduler = new GridScheduler(capacities(2, 2), Duration.ofMillis(100));
+
+        GridScheduler.Slot first = scheduler.acquire();
+        GridScheduler.Slot second = scheduler.acquire();
+        Assert.assertNotEquals(first.getUrl(), second.getUrl(), "Second session should go to the idle node");
+
+        Set<URL> used = new HashSet<>();
+        used.add(scheduler.acquire().getUrl());
+        used.add(scheduler.acquire().getUrl());
+        Assert.assertEquals(used.size(), 2, "Remaining slots should be taken on both nodes");
+        Assert.assertThrows(IllegalStateException.class, scheduler::acquire);
+        Assert.assertEquals(scheduler.getQueuedRequests(), 1);
+    }
+
+    @Test(description = "A queued request gets the slot freed by a finished session and its wait is recorded")
+    public void testQueuedRequestWaitsForRelease() throws Exception {
+        GridScheduler scheduler = new GridScheduler(capacities(1), Duration.ofSeconds(10));
+        GridScheduler.Slot busy = scheduler.acquire();
+
+        CompletableFuture<GridScheduler.Slot> queued = CompletableFuture.supplyAsync(scheduler::acquire);
+        Thread.sleep(200);
+        Assert.assertFalse(queued.isDone(), "Request should queue while the only slot is busy");
+
+        busy.close();
+        busy.close();
+        GridScheduler.Slot slot = queued.get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(slot.getQueueWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(150),
+                "Queue wait should cover the time the slot was busy");
+        Assert.assertEquals(scheduler.getActiveSessions().values().iterator().next().intValue(), 1,
+                "Closing a slot twice should free it only once");
+        Assert.assertEquals(scheduler.getQueueWait().getCount(), 2);
+    }
+
+    @Test(description = "Only Chrome slots of available nodes count towards capacity")
+    public void testCountsChromeSlotsFromStatus() {
+        Assert.assertEquals(GridScheduler.countChromeSlots(STATUS), 2);
+        Assert.assertEquals(GridScheduler.countChromeSlots("{\"value\": {\"ready\": false}}"), 0);
+    }
+
+    private static Map<URL, Integer> capacities(int... slots) throws MalformedURLException {
+        Map<URL, Integer> capacities = new LinkedHashMap<>();
+        for (int i = 0; i < slots.length; i++) {
+            capacities.put(new URL("http://node" + i + ":4444/"), slots[i]);
+        }
+        return capacities;
+    }
+}
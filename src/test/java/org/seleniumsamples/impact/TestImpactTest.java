@@ -0,0 +1,104 @@
+package org.seleniumsamples.impact;
+
+import org.seleniumsamples.config.SuiteConfig;
+import org.seleniumsamples.testing.Stubs;
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Test Impact Test Class
+ * Skips unchanged green methods, orders the rest and keeps the history between builds
+ */
+public class TestImpactTest {
+
+    @Test(description = "The history survives a save and load")
+    public void testResultCacheRoundTrip() throws IOException {
+        Path directory = Files.createTempDirectory("test-impact");
+        ResultCache cache = ResultCache.load(directory);
+        cache.record("PracticeTest#testDropdown", "abc", true, 300);
+        cache.record("PracticeTest#testDropdown", "abc", false, 500);
+        cache.record("PracticeTest#testRadio", null, true, 100);
+        cache.save();
+
+        ResultCache loaded = ResultCache.load(directory);
+        ResultCache.Entry dropdown = loaded.get("PracticeTest#testDropdown");
+        Assert.assertEquals(dropdown.getFingerprint(), "abc");
+        Assert.assertFalse(dropdown.isPassed());
+        Assert.assertEquals(dropdown.getRuns(), 2);
+        Assert.assertEquals(dropdown.getFailures(), 1);
+        Assert.assertEquals(dropdown.getMeanMillis(), 400);
+        Assert.assertEquals(dropdown.getFailureProbability(), 0.5, 1e-9);
+        Assert.assertNull(loaded.get("PracticeTest#testRadio").getFingerprint());
+        Assert.assertNull(loaded.get("PracticeTest#unknown"));
+    }
+
+    @Test(description = "Unchanged green methods are skipped, likely and cheap failures run first")
+    public void testSkipsUnchangedAndOrdersByFailureRate() throws IOException {
+        ResultCache cache = ResultCache.load(Files.createTempDirectory("test-impact"));
+        cache.record(key(String.class, "unchanged"), "s1", true, 100);
+        cache.record(key(String.class, "failedBefore"), "s1", false, 100);
+        cache.record(key(Integer.class, "changedSlow"), "i0", true, 5000);
+        Map<Class<?>, String> fingerprints = new HashMap<>();
+        fingerprints.put(String.class, "s1");
+        fingerprints.put(Integer.class, "i1");
+        TestImpactInterceptor interceptor = new TestImpactInterceptor(cache, fingerprints::get);
+
+        List<IMethodInstance> methods = Arrays.asList(
+                Stubs.methodInstance(String.class, "unchanged"),
+                Stubs.methodInstance(Integer.class, "changedSlow"),
+                Stubs.methodInstance(String.class, "failedBefore"),
+                Stubs.methodInstance(Long.class, "neverRun"));
+
+        Assert.assertEquals(names(interceptor.select(methods, Collections.emptySet(), "impact")),
+                Arrays.asList("failedBefore", "neverRun", "changedSlow"));
+        Assert.assertEquals(names(interceptor.select(methods,
+                Collections.singleton("java.lang.String.unchanged"), "impact")).size(), 4,
+                "A method other methods depend on always runs");
+    }
+
+    @Test(description = "Test code is fingerprinted as a whole, so shared test helpers count")
+    public void testCodeHash() {
+        String hash = ImpactFingerprint.codeHash(TestImpactTest.class);
+        Assert.assertNotNull(hash);
+        Assert.assertEquals(ImpactFingerprint.codeHash(Stubs.class), hash,
+                "A helper in another test package is part of the same fingerprint");
+        Assert.assertNotEquals(ImpactFingerprint.codeHash(ResultCache.class), hash,
+                "Framework classes are hashed separately");
+    }
+
+    @Test(description = "Each scenario shard has its own fixture fingerprint")
+    public void testFixtureHashCoversShard() {
+        String shard0 = ImpactFingerprint.fixtureHash("scenarios/element-scenarios.csv", 0, 2);
+        Assert.assertNotNull(shard0);
+        Assert.assertEquals(ImpactFingerprint.fixtureHash("scenarios/element-scenarios.csv", 0, 2), shard0);
+        Assert.assertNotEquals(ImpactFingerprint.fixtureHash("scenarios/element-scenarios.csv", 1, 2), shard0);
+    }
+
+    @Test(description = "Against the live page nothing is fingerprinted, so every method runs")
+    public void testLivePageHasNoFingerprint() {
+        if (SuiteConfig.localPracticePage()) {
+            throw new SkipException("Runs against the bundled snapshot");
+        }
+        Assert.assertNull(ImpactFingerprint.of(TestImpactTest.class));
+    }
+
+    private static String key(Class<?> type, String name) {
+        return type.getName() + "#" + name;
+    }
+
+    private static List<String> names(List<IMethodInstance> methods) {
+        return methods.stream().map(m -> m.getMethod().getMethodName()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,49 @@
+package org.seleniumsamples.listeners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * Parallel Suite Configurer Test Class
+ * Verifies how many browsers a suite can hold at once, as declared in testng.xml
+ */
+public class ParallelSuiteConfigurerTest {
+
+    @Test(description = "A serial suite needs one browser plus the parallel data provider threads")
+    public void testSerialSuite() {
+        XmlSuite suite = suite(XmlSuite.ParallelMode.NONE, 4, 2);
+        new XmlTest(suite);
+        Assert.assertEquals(ParallelSuiteConfigurer.concurrentWorkers(suite), 3);
+    }
+
+    @Test(description = "Thread counts set in testng.xml count, and a serial <test> does not")
+    public void testParallelFromSuiteFile() {
+        XmlSuite suite = suite(XmlSuite.ParallelMode.METHODS, 4, 2);
+        new XmlTest(suite);
+        XmlTest wide = new XmlTest(suite);
+        wide.setThreadCount(6);
+        XmlTest serial = new XmlTest(suite);
+        serial.setParallel(XmlSuite.ParallelMode.NONE);
+        serial.setThreadCount(10);
+        Assert.assertEquals(ParallelSuiteConfigurer.concurrentWorkers(suite), 8);
+    }
+
+    @Test(description = "With parallel=\"tests\" each <test> runs its methods on a single worker")
+    public void testParallelTests() {
+        XmlSuite suite = suite(XmlSuite.ParallelMode.TESTS, 2, 1);
+        new XmlTest(suite);
+        new XmlTest(suite);
+        new XmlTest(suite);
+        Assert.assertEquals(ParallelSuiteConfigurer.concurrentWorkers(suite), 3);
+    }
+
+    private static XmlSuite suite(XmlSuite.ParallelMode mode, int threadCount, int dataProviderThreadCount) {
+        XmlSuite suite = new XmlSuite();
+        suite.setParallel(mode);
+        suite.setThreadCount(threadCount);
+        suite.setDataProviderThreadCount(dataProviderThreadCount);
+        return suite;
+    }
+}
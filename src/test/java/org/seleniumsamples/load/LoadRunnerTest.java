@@ -0,0 +1,103 @@
+package org.seleniumsamples.load;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load Runner Test Class
+ * Runs short load runs against browser-less drivers
+ */
+public class LoadRunnerTest {
+
+    @Test(description = "Every user iterates until the deadline and steps are recorded with their errors")
+    public void testRecordsStepsAndErrors() throws InterruptedException {
+        AtomicInteger sessions = new AtomicInteger();
+        AtomicInteger quits = new AtomicInteger();
+        AtomicInteger iteration = new AtomicInteger();
+        LoadProfile profile = new LoadProfile(3, Duration.ZERO, Duration.ofMillis(300), Duration.ZERO);
+
+        LoadReport report = new LoadRunner(profile, () -> {
+            sessions.incrementAndGet();
+            return fakeDriver();
+        }, driver -> quits.incrementAndGet(), (driver, steps) -> {
+            steps.recordStep("radio", 1_000_000, true);
+            boolean passed = iteration.incrementAndGet() % 2 == 0;
+            steps.recordStep("dropdown", 2_000_000, passed);
+            LoadRunner.think(Duration.ofMillis(10));
+            return passed;
+        }).run();
+
+        Assert.assertEquals(sessions.get(), 3, "One session per user");
+        Assert.assertEquals(quits.get(), 3, "Every session should be quit at the end");
+        Assert.assertTrue(report.getIterations() >= 3, "Each user should complete iterations");
+        for (int user = 0; user < 3; user++) {
+            Assert.assertTrue(report.getIterations(user) > 0, "User " + user + " did not run");
+        }
+        LoadReport.StepStats dropdown = report.getSteps().get("dropdown");
+        Assert.assertEquals(dropdown.getCount(), report.getIterations());
+        Assert.assertEquals(dropdown.getErrors(), report.getFailedIterations());
+        Assert.assertEquals(report.getSteps().get("radio").getErrors(), 0);
+        Assert.assertEquals(report.getSteps().get(LoadRunner.SESSION_STEP).getCount(), 3);
+        Assert.assertTrue(report.getThroughput() > 0);
+    }
+
+    @Test(description = "A failing iteration replaces the user's session")
+    public void testRestartsSessionAfterFailure() throws InterruptedException {
+        AtomicInteger sessions = new AtomicInteger();
+        AtomicInteger iteration = new AtomicInteger();
+        LoadProfile profile = new LoadProfile(1, Duration.ZERO, Duration.ofMillis(200), Duration.ZERO);
+
+        LoadReport report = new LoadRunner(profile, () -> {
+            sessions.incrementAndGet();
+            return fakeDriver();
+        }, driver -> { }, (driver, steps) -> {
+            LoadRunner.think(Duration.ofMillis(20));
+            if (iteration.incrementAndGet() == 1) {
+                throw new IllegalStateException("page did not load");
+            }
+            return true;
+        }).run();
+
+        Assert.assertEquals(sessions.get(), 2, "The failed session should be replaced once");
+        Assert.assertEquals(report.getFailedIterations(), 1);
+    }
+
+    @Test(description = "Users start evenly over the ramp-up")
+    public void testRampUpSpreadsStarts() {
+        LoadProfile profile = new LoadProfile(4, Duration.ofSeconds(20), Duration.ofMinutes(1), Duration.ZERO);
+        Assert.assertEquals(profile.startDelay(0), Duration.ZERO);
+        Assert.assertEquals(profile.startDelay(1), Duration.ofSeconds(5));
+        Assert.assertEquals(profile.startDelay(3), Duration.ofSeconds(15));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new LoadProfile(0, Duration.ZERO, Duration.ofMinutes(1), Duration.ZERO));
+    }
+
+    @Test(description = "The CSV report has one row per step")
+    public void testWritesReport() throws IOException {
+        LoadReport report = new LoadReport();
+        report.recordStep("radio", 5_000_000, true);
+        report.recordStep("radio", 7_000_000, false);
+        report.recordStep("tab", 1_000_000, true);
+        Path directory = Files.createTempDirectory("load-report");
+
+        List<String> lines = Files.readAllLines(report.writeTo(directory), StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.size(), 3);
+        Assert.assertTrue(lines.get(1).startsWith("radio,2,1,0.5000,"), lines.get(1));
+        Assert.assertTrue(lines.get(2).startsWith("tab,1,0,0.0000,"), lines.get(2));
+    }
+
+    private static WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(LoadRunnerTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> null);
+    }
+}
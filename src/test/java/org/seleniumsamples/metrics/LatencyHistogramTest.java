@@ -0,0 +1,48 @@
+package org.seleniumsamples.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency Histogram Test Class
+ * Checks bucket boundaries and percentile accuracy
+ */
+public class LatencyHistogramTest {
+
+    @Test(description = "Every value falls into a bucket whose range contains it")
+    public void testBucketsContainTheirValues() {
+        for (long micros = 0; micros < 5_000_000; micros = micros < 200 ? micros + 1 : micros * 11 / 10) {
+            int index = LatencyHistogram.indexOf(micros);
+            Assert.assertTrue(LatencyHistogram.highestValueAt(index) >= micros, "Upper edge below value " + micros);
+            if (index > 0) {
+                Assert.assertTrue(LatencyHistogram.highestValueAt(index - 1) < micros,
+                        "Previous bucket already covers " + micros);
+            }
+        }
+    }
+
+    @Test(description = "Percentiles of a uniform distribution are within 3%")
+    public void testPercentileAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis, TimeUnit.MILLISECONDS);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 1000);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 500, 500 * 0.03);
+        Assert.assertEquals(histogram.getPercentileMillis(95), 950, 950 * 0.03);
+        Assert.assertEquals(histogram.getPercentileMillis(99), 990, 990 * 0.03);
+        Assert.assertEquals(histogram.getMaxMillis(), 1000.0);
+        Assert.assertEquals(histogram.getMeanMillis(), 500.5, 0.001);
+    }
+
+    @Test(description = "An empty histogram reports zeros")
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(histogram.getPercentileMillis(99), 0.0);
+        Assert.assertEquals(histogram.summary().get("count"), 0L);
+    }
+}
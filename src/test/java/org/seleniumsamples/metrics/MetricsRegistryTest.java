@@ -0,0 +1,72 @@
+package org.seleniumsamples.metrics;
+
+import org.seleniumsamples.metrics.MetricsRegistry.Counter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics Registry Test Class
+ * Checks the OpenMetrics text output and the /metrics endpoint
+ */
+public class MetricsRegistryTest {
+
+    @Test(description = "Counters are exported with _total and escaped label values")
+    public void testCounterFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("suite_tests", "Finished tests", "method", "status")
+                .labels("test\"Radio\"", "passed");
+        counter.inc();
+        counter.inc(2);
+
+        String text = registry.scrape();
+        Assert.assertTrue(text.contains("# TYPE suite_tests counter\n"), text);
+        Assert.assertTrue(text.contains("# HELP suite_tests Finished tests\n"), text);
+        Assert.assertTrue(text.contains("suite_tests_total{method=\"test\\\"Radio\\\"\",status=\"passed\"} 3\n"), text);
+        Assert.assertTrue(text.endsWith("# EOF\n"), text);
+    }
+
+    @Test(description = "Latency summaries are exported in seconds with quantiles, sum and count")
+    public void testSummaryFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LatencyHistogram histogram = registry.summary("suite_step_seconds", "Step time", "step").labels("load");
+        histogram.record(200, TimeUnit.MILLISECONDS);
+        histogram.record(400, TimeUnit.MILLISECONDS);
+
+        String text = registry.scrape();
+        Assert.assertTrue(text.contains("# TYPE suite_step_seconds summary\n"), text);
+        Assert.assertTrue(text.contains("suite_step_seconds{step=\"load\",quantile=\"0.95\"} "), text);
+        Assert.assertTrue(text.contains("suite_step_seconds_sum{step=\"load\"} 0.600000\n"), text);
+        Assert.assertTrue(text.contains("suite_step_seconds_count{step=\"load\"} 2\n"), text);
+    }
+
+    @Test(description = "A metric name cannot be reused with different labels",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testRejectsConflictingRegistration() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("suite_tests", "Finished tests", "method");
+        registry.counter("suite_tests", "Finished tests", "method", "status");
+    }
+
+    @Test(description = "The endpoint serves the current registry contents")
+    public void testEndpointServesScrape() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("suite_sessions", "Sessions started").labels().inc();
+
+        try (MetricsEndpoint endpoint = new MetricsEndpoint(0, registry).start()) {
+            HttpURLConnection connection = (HttpURLConnection) new URL(endpoint.getUrl()).openConnection();
+            Assert.assertEquals(connection.getResponseCode(), 200);
+            Assert.assertTrue(connection.getContentType().startsWith("application/openmetrics-text"));
+            try (InputStream in = connection.getInputStream()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                Assert.assertTrue(body.contains("suite_sessions_total 1\n"), body);
+            }
+        }
+    }
+}
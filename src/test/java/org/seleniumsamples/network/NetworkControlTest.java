@@ -0,0 +1,152 @@
+package org.seleniumsamples.network;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.seleniumsamples.metrics.NetworkTimingRecorder;
+import org.seleniumsamples.metrics.NetworkTimingRecorder.Source;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Network Control Test Class
+ * Runs the interception filter against a fake network, without a browser
+ */
+public class NetworkControlTest {
+
+    private static final String SCRIPT = "https://cdn.example.com/js/app.js?v=3";
+    private static final String PAGE = "https://example.com/AutomationPractice/";
+
+    @Test(description = "Blocked patterns never reach the network")
+    public void testBlocksMatchingUrls() {
+        NetworkTimingRecorder timings = new NetworkTimingRecorder();
+        AtomicInteger fetches = new AtomicInteger();
+        HttpHandler handler = new NetworkControl(Arrays.asList("*google-analytics.com/*", "*.woff2"), null, timings)
+                .apply(network(fetches, "text/javascript"));
+
+        Assert.assertEquals(handler.execute(get("https://www.google-analytics.com/analytics.js")).getStatus(), 204);
+        Assert.assertEquals(handler.execute(get("https://cdn.example.com/font.woff2")).getStatus(), 204);
+        Assert.assertEquals(handler.execute(get(SCRIPT)).getStatus(), 200);
+        Assert.assertEquals(fetches.get(), 1, "Only the unblocked request should be fetched");
+        Assert.assertEquals(timings.getResources().stream().mapToLong(r -> r.getCount(Source.BLOCKED)).sum(), 2);
+    }
+
+    @Test(description = "Cacheable responses are served from disk after the first fetch")
+    public void testServesCachedResponses() throws IOException {
+        Path cacheDir = Files.createTempDirectory("http-cache");
+        NetworkTimingRecorder timings = new NetworkTimingRecorder();
+        AtomicInteger fetches = new AtomicInteger();
+        HttpHandler handler = new NetworkControl(Collections.emptyList(), new ResponseCache(cacheDir), timings)
+                .apply(network(fetches, "text/javascript"));
+
+        Assert.assertEquals(Contents.string(handler.execute(get(SCRIPT))), "body of " + SCRIPT);
+        HttpResponse cached = handler.execute(get(SCRIPT));
+        Assert.assertEquals(fetches.get(), 1, "Second request should come from the cache");
+        Assert.assertEquals(Contents.string(cached), "body of " + SCRIPT);
+        Assert.assertEquals(cached.getHeader("Content-Type"), "text/javascript");
+        Assert.assertNull(cached.getHeader("Content-Encoding"), "Transport headers should not be replayed");
+
+        // A different Accept header selects a different representation
+        handler.execute(get(SCRIPT).addHeader("Accept", "application/json"));
+        Assert.assertEquals(fetches.get(), 2);
+
+        NetworkTimingRecorder.Resource resource = timings.getResources().get(0);
+        Assert.assertEquals(resource.getUrl(), "https://cdn.example.com/js/app.js");
+        Assert.assertEquals(resource.getCount(Source.CACHE), 1);
+        Assert.assertEquals(resource.getCount(Source.NETWORK), 2);
+    }
+
+    @Test(description = "HTML documents are always fetched from the network")
+    public void testDoesNotCacheDocuments() throws IOException {
+        AtomicInteger fetches = new AtomicInteger();
+        HttpHandler handler = new NetworkControl(Collections.emptyList(),
+                new ResponseCache(Files.createTempDirectory("http-cache")), new NetworkTimingRecorder())
+                .apply(network(fetches, "text/html; charset=utf-8"));
+
+        handler.execute(get(PAGE));
+        handler.execute(get(PAGE));
+        Assert.assertEquals(fetches.get(), 2);
+    }
+
+    @Test(description = "Entries expire after their freshness lifetime")
+    public void testExpiresEntries() throws IOException {
+        Path cacheDir = Files.createTempDirectory("http-cache");
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        ResponseCache cache = new ResponseCache(cacheDir, Clock.fixed(now, ZoneOffset.UTC));
+        HttpResponse response = new HttpResponse().setStatus(200).addHeader("Cache-Control", "public, max-age=600");
+        Assert.assertTrue(cache.isCacheable(get(SCRIPT), response));
+        cache.put("key", response, new byte[]{1});
+
+        Assert.assertNotNull(new ResponseCache(cacheDir, Clock.fixed(now.plusSeconds(599), ZoneOffset.UTC)).get("key"));
+        Assert.assertNull(new ResponseCache(cacheDir, Clock.fixed(now.plusSeconds(600), ZoneOffset.UTC)).get("key"),
+                "An expired entry should be a miss");
+    }
+
+    @Test(description = "Responses that may not be reused or vary on unkeyed headers are not stored")
+    public void testRespectsCacheHeaders() throws IOException {
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        ResponseCache cache = new ResponseCache(Files.createTempDirectory("http-cache"),
+                Clock.fixed(now, ZoneOffset.UTC));
+        HttpRequest request = get(SCRIPT);
+
+        Assert.assertFalse(cache.isCacheable(request, cacheControl("no-cache, max-age=600")));
+        Assert.assertFalse(cache.isCacheable(request, cacheControl("private, max-age=600")));
+        Assert.assertFalse(cache.isCacheable(request, new HttpResponse().setStatus(200)),
+                "Without any freshness information there is nothing to reuse");
+        Assert.assertFalse(cache.isCacheable(request, cacheControl("max-age=600").addHeader("Vary", "Cookie")));
+        Assert.assertTrue(cache.isCacheable(request,
+                cacheControl("max-age=600").addHeader("Vary", "Accept, Accept-Encoding")));
+
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(now.atZone(ZoneOffset.UTC));
+        String inOneHour = DateTimeFormatter.RFC_1123_DATE_TIME.format(now.plusSeconds(3600).atZone(ZoneOffset.UTC));
+        HttpResponse expires = new HttpResponse().setStatus(200).addHeader("Date", date).addHeader("Expires", inOneHour);
+        Assert.assertEquals(cache.freshnessMillis(expires), 3_600_000);
+        Assert.assertFalse(cache.isCacheable(request, new HttpResponse().setStatus(200).addHeader("Expires", "0")));
+        Assert.assertEquals(cache.freshnessMillis(cacheControl("max-age=600").addHeader("Age", "100")), 500_000);
+    }
+
+    @Test(description = "Cookies set for one session are never replayed to another")
+    public void testDoesNotShareCookies() throws IOException {
+        ResponseCache cache = new ResponseCache(Files.createTempDirectory("http-cache"));
+        HttpResponse withCookie = cacheControl("public, max-age=600").addHeader("Set-Cookie", "session=abc; Path=/");
+        Assert.assertFalse(cache.isCacheable(get(SCRIPT), withCookie));
+
+        cache.put("key", withCookie, new byte[]{1});
+        HttpResponse stored = cache.get("key");
+        Assert.assertNotNull(stored);
+        Assert.assertNull(stored.getHeader("Set-Cookie"), "A stored entry must not carry the cookie");
+    }
+
+    private static HttpResponse cacheControl(String value) {
+        return new HttpResponse().setStatus(200).addHeader("Cache-Control", value);
+    }
+
+    private static HttpRequest get(String url) {
+        return new HttpRequest(HttpMethod.GET, url);
+    }
+
+    private static HttpHandler network(AtomicInteger fetches, String contentType) {
+        return request -> {
+            fetches.incrementAndGet();
+            return new HttpResponse()
+                    .setStatus(200)
+                    .addHeader("Content-Type", contentType)
+                    .addHeader("Content-Encoding", "gzip")
+                    .addHeader("Cache-Control", "max-age=3600")
+                    .setContent(Contents.utf8String("body of " + request.getUri()));
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package org.seleniumsamples.page;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Practice Page Test Class
+ * Checks handle caching and stale recovery against a browser-less driver
+ */
+public class PracticePageTest {
+
+    @Test(description = "Handles are looked up lazily and once per page load")
+    public void testCachesHandlesPerPageLoad() {
+        FakePage browser = new FakePage();
+        PracticePage page = new PracticePage(browser.driver);
+
+        WebElement field = page.autocomplete();
+        Assert.assertEquals(browser.lookups.get(), 0, "Nothing should be looked up before the element is used");
+        field.sendKeys("India");
+        page.autocomplete().clear();
+        Assert.assertEquals(page.radioButtons().size(), 3);
+        Assert.assertEquals(page.radioButtons().size(), 3);
+
+        Assert.assertEquals(browser.lookups.get(), 2, "One lookup per locator");
+        Assert.assertEquals(page.getLookups(), 2);
+        Assert.assertEquals(page.getHits(), 2);
+
+        page.open("http://localhost/practice");
+        page.autocomplete().clear();
+        Assert.assertEquals(browser.lookups.get(), 3, "Loading the page should drop the cached handles");
+    }
+
+    @Test(description = "Page objects of sessions the factory does not know are not kept")
+    public void testDoesNotRetainForeignSessions() {
+        FakePage browser = new FakePage();
+        Assert.assertNotSame(PracticePage.of(browser.driver), PracticePage.of(browser.driver),
+                "Nothing would remove the entry of a session DriverFactory did not create");
+    }
+
+    @Test(description = "A stale handle is looked up again and the call retried")
+    public void testRetriesStaleHandles() {
+        FakePage browser = new FakePage();
+        PracticePage page = new PracticePage(browser.driver);
+        WebElement checkbox = page.checkboxes().get(1);
+        Assert.assertEquals(checkbox.getAttribute("value"), "load1-" + PracticePage.CHECKBOXES + "#1");
+
+        // The page is replaced behind the page object's back
+        browser.load.incrementAndGet();
+        Assert.assertEquals(checkbox.getAttribute("value"), "load2-" + PracticePage.CHECKBOXES + "#1");
+        Assert.assertEquals(page.getStaleRetries(), 1);
+        Assert.assertEquals(browser.lookups.get(), 2);
+    }
+
+    @Test(description = "Handles unwrap to the browser's element for scripts")
+    public void testUnwrapsForScripts() {
+        FakePage browser = new FakePage();
+        PracticePage page = new PracticePage(browser.driver);
+        WebElement button = page.openTabButton();
+
+        WebElement wrapped = ((WrapsElement) button).getWrappedElement();
+        Assert.assertFalse(wrapped instanceof WrapsElement);
+        Assert.assertEquals(wrapped.getAttribute("value"), "load1-" + PracticePage.OPEN_TAB);
+        Assert.assertEquals(button, button);
+        Assert.assertTrue(button.toString().contains("opentab"));
+    }
+
+    /**
+     * Driver whose elements go stale when the load counter moves on
+     */
+    private static final class FakePage {
+        final AtomicInteger load = new AtomicInteger(1);
+        final AtomicInteger lookups = new AtomicInteger();
+        final WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            load.incrementAndGet();
+                            return null;
+                        case "findElement":
+                            lookups.incrementAndGet();
+                            return element(args[0].toString());
+                        case "findElements":
+                            lookups.incrementAndGet();
+                            List<WebElement> elements = new ArrayList<>();
+                            for (int i = 0; i < 3; i++) {
+                                elements.add(element(args[0] + "#" + i));
+                            }
+                            return elements;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+
+        private WebElement element(String name) {
+            int loadedIn = load.get();
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> {
+                        if (load.get() != loadedIn) {
+                            throw new StaleElementReferenceException("stale " + name);
+                        }
+                        return "getAttribute".equals(method.getName()) ? "load" + loadedIn + "-" + name : null;
+                    });
+        }
+    }
+}
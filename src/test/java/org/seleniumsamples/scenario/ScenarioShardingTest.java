@@ -0,0 +1,98 @@
+package org.seleniumsamples.scenario;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Scenario Sharding Test Class
+ * Checks scenario files are parsed and split into disjoint shards, and that shard
+ * results merge back in matrix order
+ */
+public class ScenarioShardingTest {
+
+    private static final String MATRIX = "scenarios/element-scenarios.csv";
+
+    @Test(description = "Shards are disjoint and together cover every row exactly once")
+    public void testShardsPartitionMatrix() {
+        List<ElementScenario> all = read(ScenarioSource.open(MATRIX, 0, 1));
+        Assert.assertTrue(all.size() > 3, "Bundled matrix should have several rows");
+
+        List<Long> covered = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            for (ElementScenario scenario : read(ScenarioSource.open(MATRIX, shard, 3))) {
+                Assert.assertEquals(scenario.getRow() % 3, shard, "Row " + scenario.getRow() + " in wrong shard");
+                covered.add(scenario.getRow());
+            }
+        }
+        covered.sort(null);
+        List<Long> expected = new ArrayList<>();
+        for (ElementScenario scenario : all) {
+            expected.add(scenario.getRow());
+        }
+        Assert.assertEquals(covered, expected);
+    }
+
+    @Test(description = "CSV quoting and JSONL rows are parsed into scenarios")
+    public void testParsesCsvAndJsonl() throws IOException {
+        Assert.assertEquals(ScenarioSource.parseCsvLine("a, \"b, c\" ,\"say \"\"hi\"\"\""),
+                Arrays.asList("a", "b, c", "say \"hi\""));
+
+        Path jsonl = Files.createTempFile("scenarios", ".jsonl");
+        try {
+            Files.write(jsonl, Arrays.asList(
+                    "{\"id\": \"first\", \"element\": \"dropdown\", \"input\": \"Option2\", \"expected\": \"Option2\"}",
+                    "",
+                    "{\"element\": \"checkbox\", \"input\": \"option1\", \"expected\": true}"), StandardCharsets.UTF_8);
+            List<ElementScenario> scenarios = read(ScenarioSource.open(jsonl.toString(), 0, 1));
+
+            Assert.assertEquals(scenarios.size(), 2);
+            Assert.assertEquals(scenarios.get(0).getId(), "first");
+            Assert.assertEquals(scenarios.get(0).getKind(), ElementScenario.Kind.DROPDOWN);
+            Assert.assertEquals(scenarios.get(1).getId(), "checkbox-1");
+            Assert.assertEquals(scenarios.get(1).getExpected(), "true");
+        } finally {
+            Files.delete(jsonl);
+        }
+    }
+
+    @Test(description = "Shard results merge in matrix order and missing shards are reported")
+    public void testMergeShardResults() throws IOException {
+        Path directory = Files.createTempDirectory("scenario-results");
+        List<ElementScenario> all = read(ScenarioSource.open(MATRIX, 0, 1));
+        for (int shard = 0; shard < 2; shard++) {
+            try (ShardResultWriter writer = new ShardResultWriter(directory, shard, 3)) {
+                for (ElementScenario scenario : read(ScenarioSource.open(MATRIX, shard, 3))) {
+                    writer.record(scenario, scenario.getRow() != 1, scenario.getExpected(), 5, null);
+                }
+            }
+        }
+
+        Path merged = directory.resolve(ScenarioResultMerger.MERGED_FILE);
+        ScenarioResultMerger.Summary summary = ScenarioResultMerger.merge(directory, merged);
+
+        int expectedTotal = (int) all.stream().filter(scenario -> scenario.getRow() % 3 != 2).count();
+        Assert.assertEquals(summary.getTotal(), expectedTotal);
+        Assert.assertEquals(summary.getFailed(), 1);
+        Assert.assertEquals(summary.getMissingShards(), Arrays.asList(2));
+        List<String> lines = Files.readAllLines(merged, StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.size(), expectedTotal);
+        Assert.assertTrue(lines.get(0).startsWith("{\"row\": 0,"), lines.get(0));
+        Assert.assertTrue(lines.get(1).contains("\"id\": \"" + all.get(1).getId() + "\""), lines.get(1));
+        Assert.assertTrue(lines.get(1).contains("\"status\": \"FAIL\""), lines.get(1));
+    }
+
+    private static List<ElementScenario> read(Iterator<ElementScenario> scenarios) {
+        List<ElementScenario> list = new ArrayList<>();
+        scenarios.forEachRemaining(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,142 @@
+package org.seleniumsamples.schedule;
+
+import org.seleniumsamples.testing.Stubs;
+import org.testng.Assert;
+import org.testng.IInvokedMethod;
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Duration Schedule Test Class
+ * Keeps duration history, enforces budgets and packs methods longest first
+ */
+public class DurationScheduleTest {
+
+    @Test(description = "Each item goes to the least loaded worker, longest items first")
+    public void testPacksLongestFirst() {
+        List<List<Long>> plan = LptScheduler.pack(Arrays.asList(4L, 8L, 5L, 7L, 6L), Long::longValue, 2);
+        Assert.assertEquals(plan.get(0), Arrays.asList(8L, 5L, 4L));
+        Assert.assertEquals(plan.get(1), Arrays.asList(7L, 6L));
+    }
+
+    @Test(description = "Percentiles and budgets come from the last runs, which survive a save and load")
+    public void testHistoryRoundTrip() throws IOException {
+        Path file = Files.createTempDirectory("durations").resolve("durations.csv");
+        DurationHistory history = DurationHistory.load(file);
+        for (long millis = 1000; millis <= 4000; millis += 1000) {
+            history.record("PracticeTest#testDropdown", millis);
+        }
+        Assert.assertEquals(history.budgetMillis("PracticeTest#testDropdown", 2.0), -1,
+                "Four runs should not give a budget yet");
+        history.record("PracticeTest#testDropdown", 5000);
+        for (int i = 0; i < DurationHistory.MAX_SAMPLES + 5; i++) {
+            history.record("PracticeTest#testRadio", 100);
+        }
+        history.save();
+
+        DurationHistory loaded = DurationHistory.load(file);
+        Assert.assertEquals(loaded.percentileMillis("PracticeTest#testDropdown", 95), 5000);
+        Assert.assertEquals(loaded.expectedMillis("PracticeTest#testDropdown"), 3000);
+        Assert.assertEquals(loaded.budgetMillis("PracticeTest#testDropdown", 1.5), 7500);
+        Assert.assertEquals(loaded.budgetMillis("PracticeTest#testRadio", 2.0), DurationHistory.MIN_BUDGET_MILLIS,
+                "Short tests should get the minimum budget");
+        Assert.assertEquals(loaded.getSampleCount("PracticeTest#testRadio"), DurationHistory.MAX_SAMPLES);
+        Assert.assertEquals(loaded.expectedMillis("PracticeTest#unknown"), -1);
+    }
+
+    @Test(description = "A passed run over its budget fails in fail mode and is still recorded")
+    public void testFailsRunOverBudget() throws IOException {
+        DurationHistory history = DurationHistory.load(Files.createTempDirectory("durations").resolve("d.csv"));
+        String key = DurationScheduleTest.class.getName() + "#testDropdown";
+        for (int i = 0; i < DurationHistory.MIN_SAMPLES; i++) {
+            history.record(key, 1000);
+        }
+        DurationBudgetListener listener = new DurationBudgetListener(history, "fail", 2.0);
+
+        Map<String, Object> fast = result("testDropdown", false, 1200);
+        listener.afterInvocation(invokedTest(), Stubs.stub(ITestResult.class, fast));
+        Assert.assertEquals(fast.get("getStatus"), ITestResult.SUCCESS);
+
+        Map<String, Object> slow = result("testDropdown", false, 2500);
+        listener.afterInvocation(invokedTest(), Stubs.stub(ITestResult.class, slow));
+        Assert.assertEquals(slow.get("getStatus"), ITestResult.FAILURE);
+        Assert.assertTrue(((Throwable) slow.get("getThrowable")).getMessage().contains("over its budget of 2000 ms"));
+
+        listener.onFinish(null);
+        Assert.assertEquals(history.getSampleCount(key), DurationHistory.MIN_SAMPLES + 1, "One sample per run");
+        Assert.assertEquals(history.percentileMillis(key, 100), 3700);
+    }
+
+    @Test(description = "Data-driven methods have no budget and are recorded with all rows added up")
+    public void testRecordsDataDrivenTotals() throws IOException {
+        DurationHistory history = DurationHistory.load(Files.createTempDirectory("durations").resolve("d.csv"));
+        String key = DurationScheduleTest.class.getName() + "#testScenario";
+        for (int i = 0; i < DurationHistory.MIN_SAMPLES; i++) {
+            history.record(key, 1000);
+        }
+        DurationBudgetListener listener = new DurationBudgetListener(history, "fail", 2.0);
+
+        for (int row = 0; row < 3; row++) {
+            Map<String, Object> result = result("testScenario", true, 2500);
+            listener.afterInvocation(invokedTest(), Stubs.stub(ITestResult.class, result));
+            Assert.assertEquals(result.get("getStatus"), ITestResult.SUCCESS, "Rows have no budget");
+        }
+        Map<String, Object> failed = result("testRadio", false, 500);
+        failed.put("getStatus", ITestResult.FAILURE);
+        listener.afterInvocation(invokedTest(), Stubs.stub(ITestResult.class, failed));
+
+        listener.onFinish(null);
+        Assert.assertEquals(history.percentileMillis(key, 100), 7500);
+        Assert.assertEquals(history.getSampleCount(DurationScheduleTest.class.getName() + "#testRadio"), 0,
+                "A run with a failed invocation should not be recorded");
+    }
+
+    @Test(description = "Methods are dispatched longest first, unknown ones as one second")
+    public void testSchedulesLongestFirst() throws IOException {
+        DurationHistory history = DurationHistory.load(Files.createTempDirectory("durations").resolve("d.csv"));
+        history.record(String.class.getName() + "#short", 200);
+        history.record(String.class.getName() + "#long", 3000);
+        history.record(Integer.class.getName() + "#medium", 1500);
+        List<IMethodInstance> methods = Arrays.asList(
+                Stubs.methodInstance(String.class, "short"), Stubs.methodInstance(String.class, "unknown"),
+                Stubs.methodInstance(String.class, "long"), Stubs.methodInstance(Integer.class, "medium"));
+
+        LptScheduler scheduler = new LptScheduler(history);
+        Assert.assertEquals(names(scheduler.schedule(methods, false, 2, "schedule")),
+                Arrays.asList("long", "medium", "unknown", "short"));
+        Assert.assertEquals(names(scheduler.schedule(methods, true, 2, "schedule")),
+                Arrays.asList("long", "unknown", "short", "medium"), "Classes should stay together");
+    }
+
+    private static List<String> names(List<IMethodInstance> methods) {
+        return methods.stream().map(m -> m.getMethod().getMethodName()).collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> result(String methodName, boolean dataDriven, long millis) {
+        Map<String, Object> method = Stubs.testMethodAnswers(DurationScheduleTest.class, methodName);
+        method.put("isDataDriven", dataDriven);
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getStatus", ITestResult.SUCCESS);
+        answers.put("getStartMillis", 1_000L);
+        answers.put("getEndMillis", 1_000L + millis);
+        answers.put("getMethod", Stubs.stub(ITestNGMethod.class, method));
+        return answers;
+    }
+
+    private static IInvokedMethod invokedTest() {
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("isTestMethod", true);
+        return Stubs.stub(IInvokedMethod.class, answers);
+    }
+}
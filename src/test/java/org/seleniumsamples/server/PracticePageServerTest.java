@@ -0,0 +1,63 @@
+package org.seleniumsamples.server;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Practice Page Server Test Class
+ * Checks the bundled snapshot is served and throttling is applied
+ */
+public class PracticePageServerTest {
+
+    @Test(description = "Serves the practice page snapshot at the root path")
+    public void testServesPracticePage() throws IOException {
+        try (PracticePageServer server = new PracticePageServer(0, 0, 0).start()) {
+            HttpURLConnection connection = open(server.getBaseUrl());
+
+            Assert.assertEquals(connection.getResponseCode(), 200);
+            Assert.assertTrue(connection.getContentType().startsWith("text/html"));
+            String body = read(connection);
+            Assert.assertTrue(body.contains("<title>Practice Page</title>"), "Snapshot should be the practice page");
+            Assert.assertTrue(body.contains("id=\"dropdown-class-example\""), "Snapshot should contain the dropdown");
+        }
+    }
+
+    @Test(description = "Unknown paths and path traversal return 404")
+    public void testUnknownPathIsNotFound() throws IOException {
+        try (PracticePageServer server = new PracticePageServer(0, 0, 0).start()) {
+            Assert.assertEquals(open(server.getBaseUrl() + "missing.html").getResponseCode(), 404);
+            Assert.assertEquals(open(server.getBaseUrl() + "../testng.xml").getResponseCode(), 404);
+        }
+    }
+
+    @Test(description = "Configured latency and bandwidth slow responses down")
+    public void testThrottling() throws IOException {
+        try (PracticePageServer server = new PracticePageServer(0, 150, 64).start()) {
+            long start = System.nanoTime();
+            HttpURLConnection connection = open(server.getBaseUrl());
+            int size = read(connection).getBytes(StandardCharsets.UTF_8).length;
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // 64 kbps is 8000 bytes per second
+            long expectedMillis = 150 + size * 1000L / 8000;
+            Assert.assertTrue(elapsedMillis >= expectedMillis * 0.9,
+                    String.format("Response took %d ms, expected at least ~%d ms", elapsedMillis, expectedMillis));
+        }
+    }
+
+    private static HttpURLConnection open(String url) throws IOException {
+        return (HttpURLConnection) new URL(url).openConnection();
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
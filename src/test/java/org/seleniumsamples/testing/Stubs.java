@@ -0,0 +1,63 @@
+package org.seleniumsamples.testing;
+
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stubs
+ * Interface stubs for browser-less tests of listeners and interceptors: getters answer
+ * from a map, setX(value) stores the value for getX, and anything else fails loudly
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("hashCode".equals(name)) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("equals".equals(name)) {
+                        return proxy == args[0];
+                    }
+                    if (name.startsWith("set") && args != null && args.length == 1) {
+                        answers.put("get" + name.substring(3), args[0]);
+                        return null;
+                    }
+                    if (!answers.containsKey(name)) {
+                        throw new UnsupportedOperationException(name);
+                    }
+                    return answers.get(name);
+                }));
+    }
+
+    /**
+     * Answers of a plain test method, invoked once and without a data provider
+     */
+    public static Map<String, Object> testMethodAnswers(Class<?> type, String name) {
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getRealClass", type);
+        answers.put("getMethodName", name);
+        answers.put("getQualifiedName", type.getName() + "." + name);
+        answers.put("isDataDriven", false);
+        answers.put("getInvocationCount", 1);
+        return answers;
+    }
+
+    public static ITestNGMethod testMethod(Class<?> type, String name) {
+        return stub(ITestNGMethod.class, testMethodAnswers(type, name));
+    }
+
+    public static IMethodInstance methodInstance(Class<?> type, String name) {
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getMethod", testMethod(type, name));
+        return stub(IMethodInstance.class, answers);
+    }
+}
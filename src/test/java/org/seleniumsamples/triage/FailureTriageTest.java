@@ -0,0 +1,114 @@
+package org.seleniumsamples.triage;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.seleniumsamples.testing.Stubs;
+import org.seleniumsamples.triage.FailureClassifier.Category;
+import org.testng.Assert;
+import org.testng.ITestClass;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Failure Triage Test Class
+ * Classifies failures, retries only the transient ones and zips what a browser-less
+ * session can provide
+ */
+public class FailureTriageTest {
+
+    @Test(description = "Failures are classified by exception type, including wrapped causes")
+    public void testClassifiesByExceptionType() {
+        Assert.assertEquals(FailureClassifier.classify(new StaleElementReferenceException("stale")),
+                Category.STALE_ELEMENT);
+        Assert.assertEquals(FailureClassifier.classify(new TimeoutException("slow")), Category.TIMEOUT);
+        Assert.assertEquals(FailureClassifier.classify(new NoSuchSessionException("gone")), Category.SESSION_LOST);
+        Assert.assertEquals(FailureClassifier.classify(new WebDriverException("chrome not reachable")),
+                Category.SESSION_LOST);
+        Assert.assertEquals(FailureClassifier.classify(new AssertionError("expected [a] but found [b]")),
+                Category.ASSERTION);
+        Assert.assertEquals(FailureClassifier.classify(new NoSuchElementException("#missing")), Category.OTHER);
+        Assert.assertEquals(FailureClassifier.classify(new IllegalStateException(new TimeoutException("wrapped"))),
+                Category.TIMEOUT);
+        Assert.assertEquals(FailureClassifier.classify(null), Category.OTHER);
+    }
+
+    @Test(description = "Transient failures are retried up to retry.max times, assertions never")
+    public void testRetriesOnlyTransientFailures() {
+        TransientFailureRetry retry = new TransientFailureRetry();
+        Assert.assertFalse(retry.retry(result(new AssertionError("wrong text"))));
+        Assert.assertTrue(retry.retry(result(new StaleElementReferenceException("stale"))));
+        Assert.assertFalse(retry.retry(result(new StaleElementReferenceException("stale again"))),
+                "The default of one retry should be used up");
+    }
+
+    @Test(description = "What the browser cannot provide is noted instead of failing the capture")
+    public void testWritesZipOfAvailableArtifacts() throws IOException, InterruptedException {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, TakesScreenshot.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getCurrentUrl":
+                            return "http://localhost/practice";
+                        case "getScreenshotAs":
+                            return new byte[]{(byte) 0x89, 'P', 'N', 'G'};
+                        case "getPageSource":
+                            return "<html><body>practice</body></html>";
+                        default:
+                            throw new WebDriverException(method.getName() + " not supported");
+                    }
+                });
+        FailureArtifacts artifacts = FailureArtifacts.collect("PracticeTest.testDropdown",
+                new TimeoutException("dropdown never filled"), driver);
+        Assert.assertEquals(artifacts.getCategory(), Category.TIMEOUT);
+
+        Path target = Files.createTempDirectory("failures").resolve("PracticeTest.testDropdown.zip");
+        ArtifactWriter.shared().submit(artifacts, target);
+        Assert.assertTrue(ArtifactWriter.shared().awaitPending(Duration.ofSeconds(10)));
+
+        Map<String, String> entries = unzip(target);
+        Assert.assertEquals(entries.keySet(),
+                new HashSet<>(Arrays.asList("failure.txt", "screenshot.png", "page.html")));
+        Assert.assertTrue(entries.get("failure.txt").contains("category: timeout"));
+        Assert.assertTrue(entries.get("failure.txt").contains("url: http://localhost/practice"));
+        Assert.assertTrue(entries.get("failure.txt").contains("not captured: console: manage not supported"));
+        Assert.assertTrue(entries.get("page.html").contains("practice"));
+    }
+
+    private static Map<String, String> unzip(Path zip) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static ITestResult result(Throwable failure) {
+        Map<String, Object> testClass = new HashMap<>();
+        testClass.put("getRealClass", FailureTriageTest.class);
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getThrowable", failure);
+        answers.put("getMethod", Stubs.testMethod(FailureTriageTest.class, "testDropdown"));
+        answers.put("getTestClass", Stubs.stub(ITestClass.class, testClass));
+        return Stubs.stub(ITestResult.class, answers);
+    }
+}
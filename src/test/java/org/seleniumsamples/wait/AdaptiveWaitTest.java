@@ -0,0 +1,48 @@
+package org.seleniumsamples.wait;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive Wait Test Class
+ * Checks the polling contract without a browser
+ */
+public class AdaptiveWaitTest {
+
+    @Test(description = "Returns on the first poll when the condition already holds")
+    public void testReturnsImmediately() {
+        long start = System.nanoTime();
+        String value = AdaptiveWait.on(null).until(driver -> "ready");
+
+        Assert.assertEquals(value, "ready");
+        Assert.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 100,
+                "No sleep should happen when the condition holds");
+    }
+
+    @Test(description = "Keeps polling through stale elements until the condition holds")
+    public void testIgnoresStaleElementsWhilePolling() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Boolean result = AdaptiveWait.on(null).withTimeout(Duration.ofSeconds(2)).until(driver -> {
+            if (attempts.incrementAndGet() < 4) {
+                throw new StaleElementReferenceException("element re-rendered");
+            }
+            return true;
+        });
+
+        Assert.assertTrue(result);
+        Assert.assertEquals(attempts.get(), 4);
+    }
+
+    @Test(description = "Throws TimeoutException with the supplied message",
+            expectedExceptions = TimeoutException.class, expectedExceptionsMessageRegExp = ".*never true.*")
+    public void testTimesOut() {
+        AdaptiveWait.on(null).withTimeout(Duration.ofMillis(100)).withMessage("never true")
+                .until(driver -> false);
+    }
+}
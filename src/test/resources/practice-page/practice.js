@@ -0,0 +1,65 @@
+// Same markup and timing as the jQuery UI autocomplete on the live page
+(function () {
+    var COUNTRIES = ["Afghanistan", "Albania", "Algeria", "Argentina", "Australia", "Austria",
+        "Bangladesh", "Belgium", "Brazil", "British Indian Ocean Territory", "Canada", "China",
+        "Denmark", "Egypt", "Finland", "France", "Germany", "India", "Indonesia", "Ireland",
+        "Israel", "Italy", "Japan", "Kenya", "Malaysia", "Mexico", "Netherlands", "New Zealand",
+        "Norway", "Pakistan", "Poland", "Portugal", "Singapore", "South Africa", "Spain",
+        "Sweden", "Switzerland", "United Arab Emirates", "United Kingdom", "United States"];
+    var DELAY_MS = 300;
+    var MIN_LENGTH = 2;
+
+    var input = document.getElementById("autocomplete");
+    var menu = document.createElement("ul");
+    menu.id = "ui-id-1";
+    menu.className = "ui-menu ui-widget ui-widget-content ui-autocomplete ui-front";
+    menu.style.display = "none";
+    document.body.appendChild(menu);
+    var timer = null;
+
+    function close() {
+        menu.style.display = "none";
+        menu.innerHTML = "";
+    }
+
+    function render(term) {
+        close();
+        if (term.length < MIN_LENGTH) {
+            return;
+        }
+        var lower = term.toLowerCase();
+        COUNTRIES.filter(function (country) {
+            return country.toLowerCase().indexOf(lower) !== -1;
+        }).forEach(function (country) {
+            var item = document.createElement("li");
+            item.className = "ui-menu-item";
+            var wrapper = document.createElement("div");
+            wrapper.className = "ui-menu-item-wrapper";
+            wrapper.textContent = country;
+            wrapper.addEventListener("click", function () {
+                input.value = country;
+                close();
+            });
+            item.appendChild(wrapper);
+            menu.appendChild(item);
+        });
+        if (menu.children.length > 0) {
+            var rect = input.getBoundingClientRect();
+            menu.style.left = (rect.left + window.scrollX) + "px";
+            menu.style.top = (rect.bottom + window.scrollY) + "px";
+            menu.style.width = rect.width + "px";
+            menu.style.display = "block";
+        }
+    }
+
+    input.addEventListener("input", function () {
+        clearTimeout(timer);
+        timer = setTimeout(function () {
+            render(input.value);
+        }, DELAY_MS);
+    });
+})();
+
+function openWindow() {
+    window.open("external.html", "", "scrollbars=yes,width=1100,height=600,left=1,top=1");
+}